@@ -9,7 +9,9 @@ import net.minecraftforge.fml.common.SidedProxy;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPostInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLServerStartingEvent;
 import net.minecraftforge.fml.common.event.FMLServerStoppingEvent;
+import xreliquary.command.CommandPedestalTimings;
 import xreliquary.common.CommonProxy;
 import xreliquary.compat.ICompat;
 import xreliquary.crafting.AlkahestryLoader;
@@ -18,11 +20,19 @@ import xreliquary.init.ModCompat;
 import xreliquary.init.ModFluids;
 import xreliquary.init.ModLoot;
 import xreliquary.init.PedestalItems;
+import xreliquary.items.util.FortuneCoinDisabledZones;
+import xreliquary.items.util.MobCharmProtectionCache;
+import xreliquary.items.util.TwilightCloakHolders;
 import xreliquary.network.PacketHandler;
+import xreliquary.pedestal.PedestalRedstoneLinks;
 import xreliquary.pedestal.PedestalRegistry;
+import xreliquary.pedestal.PedestalScheduler;
 import xreliquary.reference.Compatibility;
+import xreliquary.reference.CompiledSettings;
 import xreliquary.reference.Reference;
+import xreliquary.util.InterdictionFields;
 import xreliquary.util.LogHelper;
+import xreliquary.util.PlayerInventoryIndex;
 import xreliquary.util.potions.PotionMap;
 
 @Mod(modid = Reference.MOD_ID, name = Reference.MOD_NAME, version = Reference.VERSION, dependencies = Compatibility.DEPENDENCIES)
@@ -80,14 +90,30 @@ public class Reliquary {
 
 		PedestalItems.init();
 
+		CompiledSettings.compile();
+
 		AlkahestryLoader.loadRecipes();
 
 		LogHelper.info("Loaded successfully!");
 	}
 
+	@SuppressWarnings("unused")
+	@EventHandler
+	public void serverStarting(FMLServerStartingEvent event) {
+		event.registerServerCommand(new CommandPedestalTimings());
+	}
+
 	@SuppressWarnings("unused")
 	@EventHandler
 	public void serverStopping(FMLServerStoppingEvent event) {
 		PedestalRegistry.clearPositions();
+		PedestalScheduler.clear();
+		PedestalRedstoneLinks.clear();
+		FortuneCoinDisabledZones.clear();
+		MobCharmProtectionCache.clear();
+		TwilightCloakHolders.clear();
+		PlayerInventoryIndex.clear();
+		InterdictionFields.clear();
+		LogHelper.debug("Pedestal item wrapper lookups - cache hits: {}, cache misses: {}", PedestalRegistry.getWrapperCacheHits(), PedestalRegistry.getWrapperCacheMisses());
 	}
 }
@@ -3,26 +3,16 @@ package xreliquary.blocks;
 import net.minecraft.block.BlockTorch;
 import net.minecraft.block.SoundType;
 import net.minecraft.block.state.IBlockState;
-import net.minecraft.entity.Entity;
-import net.minecraft.entity.EntityList;
-import net.minecraft.entity.EntityLiving;
-import net.minecraft.entity.EntityLivingBase;
-import net.minecraft.entity.IProjectile;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumParticleTypes;
-import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
-import org.apache.commons.lang3.ArrayUtils;
 import xreliquary.reference.Names;
-import xreliquary.reference.Settings;
+import xreliquary.util.InterdictionFields;
 
 import javax.annotation.Nonnull;
-import java.util.List;
 import java.util.Random;
 
 public class BlockInterdictionTorch extends BlockTorch {
@@ -36,82 +26,23 @@ public class BlockInterdictionTorch extends BlockTorch {
 		this.blockSoundType = SoundType.WOOD;
 	}
 
-	@Nonnull
 	@Override
-	public IBlockState getStateForPlacement(
-			@Nonnull World world, BlockPos pos, EnumFacing facing, float hitX, float hitY, float hitZ, int meta, EntityLivingBase placer) {
-		world.scheduleBlockUpdate(pos, this, tickRate(), 1);
-		return super.getStateForPlacement(world, pos, facing, hitX, hitY, hitZ, meta, placer);
+	public void onBlockAdded(World world, BlockPos pos, IBlockState state) {
+		super.onBlockAdded(world, pos, state);
+		InterdictionFields.addTorch(world, pos);
 	}
 
 	@Override
-	public void updateTick(World world, BlockPos pos, IBlockState state, Random random) {
-		super.updateTick(world, pos, state, random);
-		world.scheduleBlockUpdate(pos, this, tickRate(), 1);
-		if(world.isRemote)
-			return;
-		int radius = Settings.Blocks.InterdictionTorch.pushRadius;
-
-		List<Entity> entities = world.getEntitiesWithinAABB(Entity.class, new AxisAlignedBB(pos.getX() - radius, pos.getY() - radius, pos.getZ() - radius, pos.getX() + radius, pos.getY() + radius, pos.getZ() + radius),
-			e -> (e instanceof EntityLiving || e instanceof IProjectile));
-		for(Entity entity : entities) {
-			if(entity instanceof EntityPlayer)
-				continue;
-			double distance = entity.getDistance((double) pos.getX(), (double) pos.getY(), (double) pos.getZ());
-			if(distance < radius && distance != 0) {
-				if(isBlacklistedEntity(entity)) {
-					continue;
-				}
-
-				// the multiplier is based on a set rate added to an inverse
-				// proportion to the distance.
-				// we raise the distance to 1 if it's less than one, or it becomes a
-				// crazy multiplier we don't want/need.
-				if(distance < 1D)
-					distance = 1D;
-				double knockbackMultiplier = 1D + (1D / distance);
-
-				// we also need a reduction coefficient because the above force is
-				// WAY TOO MUCH to apply every tick.
-				double reductionCoefficient = 0.04D;
-
-				// the resultant vector between the two 3d coordinates is the
-				// difference of each coordinate pair
-				// note that we do not add 0.5 to the y coord, if we wanted to be
-				// SUPER accurate, we would be using
-				// the entity height offset to find its "center of mass"
-				Vec3d angleOfAttack = new Vec3d(entity.posX - (pos.getX() + 0.5D), entity.posY - pos.getY(), entity.posZ - (pos.getZ() + 0.5D));
-
-				// we use the resultant vector to determine the force to apply.
-				double xForce = angleOfAttack.x * knockbackMultiplier * reductionCoefficient;
-				double yForce = angleOfAttack.y * knockbackMultiplier * reductionCoefficient;
-				double zForce = angleOfAttack.z * knockbackMultiplier * reductionCoefficient;
-				entity.motionX += xForce;
-				entity.motionY += yForce;
-				entity.motionZ += zForce;
-			}
-		}
+	public void breakBlock(@Nonnull World world, @Nonnull BlockPos pos, @Nonnull IBlockState state) {
+		InterdictionFields.removeTorch(world, pos);
+		super.breakBlock(world, pos, state);
 	}
 
-	private boolean isBlacklistedEntity(Entity entity) {
-		if (EntityList.getKey(entity) == null) {
-			return false;
-		}
-
-		String entityName = EntityList.getKey(entity).toString();
-		return isBlacklistedLivingEntity(entity, entityName) || Settings.Blocks.InterdictionTorch.canPushProjectiles && isBlacklistedProjectile(entity, entityName);
-	}
-
-	private boolean isBlacklistedProjectile(Entity entity, String entityName) {
-		return entity instanceof IProjectile && ArrayUtils.contains(Settings.Blocks.InterdictionTorch.pushableProjectilesBlacklist, entityName);
-	}
-
-	private boolean isBlacklistedLivingEntity(Entity entity, String entityName) {
-		return entity instanceof EntityLiving && ArrayUtils.contains(Settings.Blocks.InterdictionTorch.pushableEntitiesBlacklist, entityName);
-	}
-
-	private int tickRate() {
-		return 1;
+	@Override
+	public void updateTick(World world, BlockPos pos, IBlockState state, Random random) {
+		super.updateTick(world, pos, state, random);
+		//torches placed before fields were kept with their chunks still have a tick scheduled, random ticks catch the rest
+		InterdictionFields.addTorch(world, pos);
 	}
 
 	@Override
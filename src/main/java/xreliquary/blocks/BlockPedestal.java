@@ -18,12 +18,12 @@ import net.minecraft.world.World;
 import net.minecraftforge.fml.common.registry.GameRegistry;
 import xreliquary.blocks.tile.TileEntityPedestal;
 import xreliquary.init.ModBlocks;
+import xreliquary.pedestal.PedestalRedstoneLinks;
 import xreliquary.pedestal.PedestalRegistry;
 import xreliquary.reference.Names;
 import xreliquary.reference.Reference;
 
 import javax.annotation.Nonnull;
-import java.util.List;
 import java.util.Random;
 
 public class BlockPedestal extends BlockPedestalPassive {
@@ -41,20 +41,6 @@ public class BlockPedestal extends BlockPedestalPassive {
 		}
 	}
 
-	@Override
-	public void onBlockPlacedBy(World worldIn, BlockPos pos, IBlockState state, EntityLivingBase placer, ItemStack stack) {
-		super.onBlockPlacedBy(worldIn, pos, state, placer, stack);
-
-		List<BlockPos> pedestalPositions = PedestalRegistry.getPositionsInRange(worldIn.provider.getDimension(), pos, 160);
-
-		for(BlockPos pedestalPosition : pedestalPositions) {
-			TileEntity te = worldIn.getTileEntity(pedestalPosition);
-			if(te != null && te instanceof TileEntityPedestal) {
-				((TileEntityPedestal) te).updateRedstone();
-			}
-		}
-	}
-
 	@Nonnull
 	@Override
 	public TileEntity createTileEntity(@Nonnull World world, @Nonnull IBlockState state) {
@@ -95,6 +81,13 @@ public class BlockPedestal extends BlockPedestalPassive {
 		((TileEntityPedestal) worldIn.getTileEntity(pos)).neighborUpdate();
 	}
 
+	@Override
+	public void updateTick(World world, BlockPos pos, IBlockState state, Random rand) {
+		TileEntity te = world.getTileEntity(pos);
+		if(te instanceof TileEntityPedestal)
+			((TileEntityPedestal) te).neighborUpdate();
+	}
+
 	@Nonnull
 	@Override
 	public IBlockState getStateForPlacement(
@@ -172,6 +165,7 @@ public class BlockPedestal extends BlockPedestalPassive {
 
 		//noinspection ConstantConditions
 		pedestal.removeItemsFromLists();
+		PedestalRedstoneLinks.onPedestalUnloaded(world, pos);
 
 		super.breakBlock(world, pos, state);
 	}
@@ -1,14 +1,12 @@
 package xreliquary.blocks.tile;
 
 import com.google.common.collect.Lists;
-import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
@@ -38,13 +36,12 @@ import xreliquary.compat.waila.provider.IWailaDataChangeIndicator;
 import xreliquary.init.ModBlocks;
 import xreliquary.init.ModItems;
 import xreliquary.items.ItemPotionEssence;
+import xreliquary.reference.CompiledSettings;
 import xreliquary.reference.Settings;
 import xreliquary.util.InventoryHelper;
 import xreliquary.util.potions.XRPotionHelper;
 
 import javax.annotation.Nonnull;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 public class TileEntityCauldron extends TileEntityBase implements IWailaDataChangeIndicator, ITickable {
@@ -66,7 +63,7 @@ public class TileEntityCauldron extends TileEntityBase implements IWailaDataChan
 	@Override
 	public void update() {
 		//Item addition gets handled by the block's onEntityCollided method.
-		if(getHeatSources().contains(world.getBlockState(getPos().add(0, -1, 0)).getBlock()) && getLiquidLevel() > 0) {
+		if(CompiledSettings.isCauldronHeatSource(world.getBlockState(getPos().add(0, -1, 0)).getBlock()) && getLiquidLevel() > 0) {
 			if(!effects.isEmpty() && hasNetherwart) {
 				if(cookTime < getTotalCookTime())
 					cookTime++;
@@ -292,22 +289,6 @@ public class TileEntityCauldron extends TileEntityBase implements IWailaDataChan
 		return Settings.Blocks.ApothecaryCauldron.redstoneLimit;
 	}
 
-	private List<Block> getHeatSources() {
-		List<Block> heatSources = new ArrayList<>();
-		String[] heatSourceBlockNames = Settings.Blocks.ApothecaryCauldron.heatSources;
-
-		Arrays.stream(heatSourceBlockNames).filter(blockName -> !heatSources.contains(Block.getBlockFromName(blockName))).forEach(blockName -> heatSources.add(Block.getBlockFromName(blockName)));
-		//defaults that can't be removed.
-		heatSources.add(Blocks.LAVA);
-		heatSources.add(Blocks.FLOWING_LAVA);
-		heatSources.add(Blocks.FIRE);
-/*
-		if(Loader.isModLoaded(Compatibility.MOD_ID.THAUMCRAFT))
-			heatSources.add(BlocksTC.nitor); //TODO add back when Thaumcraft is back in
-*/
-		return heatSources;
-	}
-
 	private int getTotalCookTime() {
 		return Settings.Blocks.ApothecaryCauldron.cookTime;
 	}
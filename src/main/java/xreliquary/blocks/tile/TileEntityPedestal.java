@@ -11,8 +11,6 @@ import net.minecraft.nbt.NBTTagLong;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.tileentity.TileEntityChest;
 import net.minecraft.util.EnumFacing;
-import net.minecraft.util.ITickable;
-import net.minecraft.util.Tuple;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
@@ -27,28 +25,33 @@ import xreliquary.api.*;
 import xreliquary.blocks.BlockPedestal;
 import xreliquary.init.ModBlocks;
 import xreliquary.items.util.FilteredItemStackHandler;
+import xreliquary.items.util.FortuneCoinDisabledZones;
+import xreliquary.items.util.MobCharmProtectionCache;
+import xreliquary.pedestal.PedestalRedstoneLinks;
 import xreliquary.pedestal.PedestalRegistry;
+import xreliquary.pedestal.PedestalScheduler;
 import xreliquary.util.InventoryHelper;
 import xreliquary.util.StackHelper;
 import xreliquary.util.XRFakePlayerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.*;
 
-public class TileEntityPedestal extends TileEntityPedestalPassive implements IPedestal, ITickable {
+public class TileEntityPedestal extends TileEntityPedestalPassive implements IPedestal {
 
 	private boolean tickable = false;
 	private int[] actionCooldowns = new int[0];
 	private int currentItemIndex;
-	private Map<Integer, IPedestalActionItem> actionItems = new HashMap<>();
-	private Map<Integer, IPedestalActionItemWrapper> itemWrappers = new HashMap<>();
-	private Map<Integer, IPedestalRedstoneItem> redstoneItems = new HashMap<>();
-	private Map<Integer, IItemHandler> itemHandlers = new HashMap<>();
+	private SlotHandlers[] slotHandlers = new SlotHandlers[0];
+	private IItemHandler[] itemHandlers = new IItemHandler[0];
 	private List<ItemStack> fluidContainers = new ArrayList<>();
 	private boolean switchedOn = false;
 	private List<Long> onSwitches = new ArrayList<>();
-	private boolean enabledInitialized = false;
+	//mirrors ENABLED property of the block state so that it doesn't need to be looked up every tick
+	private boolean enabled = false;
 	private boolean powered = false;
+	private boolean loaded = false;
 	private PedestalFluidHandler pedestalFluidHandler = null;
 	private List<Object> itemData = new ArrayList<>();
 
@@ -90,31 +93,58 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 
 	@Override
 	public void markDirty() {
-		itemHandlers.values().stream().filter(itemHandler -> itemHandler instanceof FilteredItemStackHandler).forEach(itemHandler -> {
-			FilteredItemStackHandler filteredHandler = (FilteredItemStackHandler) itemHandler;
-
-			filteredHandler.markDirty();
-		});
+		for(IItemHandler itemHandler : itemHandlers) {
+			if(itemHandler instanceof FilteredItemStackHandler)
+				((FilteredItemStackHandler) itemHandler).markDirty();
+		}
 
 		super.markDirty();
 	}
 
 	@Override
 	public void onChunkUnload() {
-		if(!this.world.isRemote)
+		if(!this.world.isRemote) {
 			PedestalRegistry.unregisterPosition(this.world.provider.getDimension(), this.pos);
+			PedestalRedstoneLinks.onPedestalUnloaded(this.world, this.pos);
+			FortuneCoinDisabledZones.remove(this.world, this.pos);
+			MobCharmProtectionCache.removePedestal(this.world, this.pos);
+			PedestalScheduler.unschedule(this);
+		}
+		loaded = false;
 
 		super.onChunkUnload();
 	}
 
 	@Override
 	public void onLoad() {
-		if(!this.world.isRemote)
+		loaded = true;
+		IBlockState blockState = world.getBlockState(this.pos);
+		enabled = blockState.getBlock() == ModBlocks.pedestal && blockState.getValue(BlockPedestal.ENABLED);
+
+		if(!this.world.isRemote) {
+			//redstone around the pedestal could have changed while it was unloaded, checked in a block tick as neighbors may not be loaded yet
+			world.scheduleUpdate(this.pos, ModBlocks.pedestal, 1);
 			PedestalRegistry.registerPosition(this.world.provider.getDimension(), this.pos);
+			PedestalRedstoneLinks.onPedestalLoaded(this.world, this.pos);
+			FortuneCoinDisabledZones.update(this);
+			MobCharmProtectionCache.updatePedestal(this);
+			updateScheduling();
+		}
 
 		super.onLoad();
 	}
 
+	@Override
+	public void invalidate() {
+		if(this.world != null && !this.world.isRemote) {
+			FortuneCoinDisabledZones.remove(this.world, this.pos);
+			MobCharmProtectionCache.removePedestal(this.world, this.pos);
+			PedestalScheduler.unschedule(this);
+		}
+
+		super.invalidate();
+	}
+
 	@Override
 	public boolean hasCapability(@Nonnull Capability<?> capability, EnumFacing facing) {
 		return capability == CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY || super.hasCapability(capability, facing);
@@ -136,34 +166,35 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 	private void updateSpecialItems() {
 		tickable = false;
 		fluidContainers.clear();
-		itemWrappers.clear();
-		actionItems.clear();
-		redstoneItems.clear();
-		itemHandlers.clear();
+
+		SlotHandlers[] newSlotHandlers = new SlotHandlers[inventory.size()];
+		List<IItemHandler> newItemHandlers = new ArrayList<>();
 
 		for(int slot = 0; slot < inventory.size(); slot++) {
 			ItemStack item = inventory.get(slot);
 			if(item.isEmpty())
 				continue;
 
+			SlotHandlers handlers = new SlotHandlers();
+
 			if(item.hasCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, null)) {
-				itemHandlers.put(slot, item.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, null));
+				newItemHandlers.add(item.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, null));
 			}
 
 			if(item.getItem() instanceof IPedestalActionItem) {
 				tickable = true;
-				actionItems.put(slot, (IPedestalActionItem) item.getItem());
+				handlers.actionItem = (IPedestalActionItem) item.getItem();
 			} else if(item.getItem() instanceof IPedestalRedstoneItem) {
-				redstoneItems.put(slot, (IPedestalRedstoneItem) item.getItem());
+				handlers.redstoneItem = (IPedestalRedstoneItem) item.getItem();
 			} else {
 				IPedestalItemWrapper wrapper = PedestalRegistry.getItemWrapper(item);
 				if(wrapper != null) {
 					if(wrapper instanceof IPedestalActionItemWrapper) {
 						tickable = true;
-						itemWrappers.put(slot, (IPedestalActionItemWrapper) wrapper);
+						handlers.actionItem = (IPedestalActionItemWrapper) wrapper;
 					}
 					if(wrapper instanceof IPedestalRedstoneItemWrapper) {
-						redstoneItems.put(slot, (IPedestalRedstoneItem) wrapper);
+						handlers.redstoneItem = (IPedestalRedstoneItem) wrapper;
 					}
 				}
 			}
@@ -171,37 +202,52 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 			if(item.hasCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, null) || item.hasCapability(CapabilityFluidHandler.FLUID_HANDLER_ITEM_CAPABILITY, null)) {
 				fluidContainers.add(item);
 			}
+
+			newSlotHandlers[slot] = handlers;
 		}
 
+		slotHandlers = newSlotHandlers;
+		itemHandlers = newItemHandlers.toArray(new IItemHandler[0]);
+
 		actionCooldowns = new int[inventory.size()];
-		Arrays.fill(actionCooldowns, 0);
+		for(int slot = 0; slot < actionCooldowns.length; slot++) {
+			if(getActionItem(slot) != null)
+				actionCooldowns[slot] = PedestalScheduler.getPhaseOffset(pos, slot);
+		}
+
+		if(loaded) {
+			FortuneCoinDisabledZones.update(this);
+			MobCharmProtectionCache.updatePedestal(this);
+		}
+		updateScheduling();
 	}
 
-	@Override
-	public void update() {
-		if(world.isRemote)
+	//pedestals only get ticked when they are enabled and have an action item to run
+	private void updateScheduling() {
+		if(!loaded || world == null || world.isRemote)
 			return;
 
-		IBlockState blockState = world.getBlockState(this.pos);
-		if(blockState.getBlock() != ModBlocks.pedestal)
-			return;
+		if(tickable && enabled)
+			PedestalScheduler.schedule(this);
+		else
+			PedestalScheduler.unschedule(this);
+	}
 
-		if(!enabledInitialized) {
-			enabledInitialized = true;
-			neighborUpdate();
-		}
+	//called by PedestalScheduler
+	public void update() {
+		if(world.isRemote)
+			return;
 
-		if(tickable && blockState.getValue(BlockPedestal.ENABLED)) {
+		if(tickable && enabled) {
 			for(currentItemIndex = 0; currentItemIndex < inventory.size(); currentItemIndex++) {
 				if(actionCooldowns[currentItemIndex] > 0) {
 					actionCooldowns[currentItemIndex]--;
 				} else {
-					ItemStack item = inventory.get(currentItemIndex);
-					//TODO refactor to just one actionItems list
-					if(actionItems.containsKey(currentItemIndex)) {
-						actionItems.get(currentItemIndex).update(item, this);
-					} else if(itemWrappers.containsKey(currentItemIndex)) {
-						itemWrappers.get(currentItemIndex).update(inventory.get(currentItemIndex), this);
+					IPedestalActionItem actionItem = getActionItem(currentItemIndex);
+					if(actionItem != null) {
+						long start = System.nanoTime();
+						actionItem.update(inventory.get(currentItemIndex), this);
+						PedestalScheduler.recordItemTiming(actionItem, System.nanoTime() - start);
 					}
 				}
 			}
@@ -209,8 +255,9 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 	}
 
 	public void neighborUpdate() {
-		if(powered != world.isBlockPowered(this.pos)) {
-			powered = world.isBlockPowered(this.pos);
+		boolean blockPowered = world.isBlockPowered(this.pos);
+		if(powered != blockPowered) {
+			powered = blockPowered;
 
 			if(powered)
 				switchOn(null);
@@ -223,9 +270,9 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 
 	public void updateRedstone() {
 		for(int i = 0; i < inventory.size(); i++) {
-			if(redstoneItems.containsKey(i)) {
-				redstoneItems.get(i).updateRedstone(inventory.get(i), this);
-			}
+			IPedestalRedstoneItem redstoneItem = getRedstoneItem(i);
+			if(redstoneItem != null)
+				redstoneItem.updateRedstone(inventory.get(i), this);
 		}
 	}
 
@@ -317,25 +364,42 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 
 	@Override
 	public void switchOn(BlockPos switchedOnFrom) {
-		if(switchedOnFrom != null && !onSwitches.contains(switchedOnFrom.toLong()))
+		boolean changed = false;
+		if(switchedOnFrom != null && !onSwitches.contains(switchedOnFrom.toLong())) {
 			onSwitches.add(switchedOnFrom.toLong());
+			changed = true;
+		}
 
-		setEnabled(true);
+		if(!enabled) {
+			setEnabled(true);
+			changed = true;
+		}
 
-		IBlockState blockState = world.getBlockState(pos);
-		world.notifyBlockUpdate(pos, blockState, blockState, 3);
+		if(changed)
+			requestBlockUpdate();
 	}
 
 	@Override
 	public void switchOff(BlockPos switchedOffFrom) {
-		if(switchedOffFrom != null)
-			onSwitches.remove(switchedOffFrom.toLong());
+		boolean changed = switchedOffFrom != null && onSwitches.remove(switchedOffFrom.toLong());
 
-		if(!switchedOn && !powered && onSwitches.size() == 0) {
+		if(enabled && !switchedOn && !powered && onSwitches.size() == 0) {
 			setEnabled(false);
+			changed = true;
+		}
+
+		if(changed)
+			requestBlockUpdate();
+	}
+
+	//redstone pedestals can switch the same pedestal several times in a tick so the clients get only the final state
+	private void requestBlockUpdate() {
+		if(world.isRemote) {
+			IBlockState blockState = world.getBlockState(pos);
+			world.notifyBlockUpdate(pos, blockState, blockState, 3);
+		} else {
+			PedestalScheduler.requestBlockUpdate(this);
 		}
-		IBlockState blockState = world.getBlockState(pos);
-		world.notifyBlockUpdate(pos, blockState, blockState, 3);
 	}
 
 	@Override
@@ -367,15 +431,19 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 		return switchedOn;
 	}
 
+	public boolean isEnabled() {
+		return enabled;
+	}
+
 	private void setEnabled(boolean switchedOn) {
+		enabled = switchedOn;
 		ModBlocks.pedestal.setEnabled(world, pos, switchedOn);
+		updateScheduling();
 		if(!switchedOn)
 			for(currentItemIndex = 0; currentItemIndex < inventory.size(); currentItemIndex++) {
-				if(actionItems.containsKey(currentItemIndex)) {
-					actionItems.get(currentItemIndex).stop(inventory.get(currentItemIndex), this);
-				} else if(itemWrappers.containsKey(currentItemIndex)) {
-					itemWrappers.get(currentItemIndex).stop(inventory.get(currentItemIndex), this);
-				}
+				IPedestalActionItem actionItem = getActionItem(currentItemIndex);
+				if(actionItem != null)
+					actionItem.stop(inventory.get(currentItemIndex), this);
 			}
 	}
 
@@ -418,16 +486,32 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 	}
 
 	public void removeItemsFromLists() {
-		for(Map.Entry<Integer, IPedestalRedstoneItem> item : redstoneItems.entrySet()) {
-			item.getValue().onRemoved(inventory.get(item.getKey()), this);
+		for(int slot = 0; slot < slotHandlers.length; slot++) {
+			IPedestalRedstoneItem redstoneItem = getRedstoneItem(slot);
+			if(redstoneItem != null)
+				redstoneItem.onRemoved(inventory.get(slot), this);
+
+			IPedestalActionItem actionItem = getActionItem(slot);
+			if(actionItem != null)
+				actionItem.onRemoved(inventory.get(slot), this);
 		}
+	}
 
-		for(Map.Entry<Integer, IPedestalActionItem> item : actionItems.entrySet()) {
-			item.getValue().onRemoved(inventory.get(item.getKey()), this);
-		}
+	private IPedestalActionItem getActionItem(int slot) {
+		return slot < slotHandlers.length && slotHandlers[slot] != null ? slotHandlers[slot].actionItem : null;
+	}
 
-		for(Map.Entry<Integer, IPedestalActionItemWrapper> item : itemWrappers.entrySet()) {
-			item.getValue().onRemoved(inventory.get(item.getKey()), this);
+	private IPedestalRedstoneItem getRedstoneItem(int slot) {
+		return slot < slotHandlers.length && slotHandlers[slot] != null ? slotHandlers[slot].redstoneItem : null;
+	}
+
+	private void notifyItemRemoved(int slot) {
+		IPedestalRedstoneItem redstoneItem = getRedstoneItem(slot);
+		IPedestalActionItem actionItem = getActionItem(slot);
+		if(redstoneItem != null) {
+			redstoneItem.onRemoved(inventory.get(slot), this);
+		} else if(actionItem != null) {
+			actionItem.onRemoved(inventory.get(slot), this);
 		}
 	}
 
@@ -435,7 +519,7 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 	@Override
 	public int getSizeInventory() {
 		int itemHandlerSlots = 0;
-		for(IItemHandler itemHandler : itemHandlers.values()) {
+		for(IItemHandler itemHandler : itemHandlers) {
 			itemHandlerSlots += itemHandler.getSlots();
 		}
 
@@ -450,22 +534,24 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 
 		int adjustedSlot = slot - slots;
 
-		Tuple<IItemHandler, Integer> handlerSlot = getHandlerSlot(adjustedSlot);
+		HandlerSlot handlerSlot = getHandlerSlot(adjustedSlot);
 
-		return handlerSlot == null ? ItemStack.EMPTY : handlerSlot.getFirst().getStackInSlot(handlerSlot.getSecond());
+		return handlerSlot == null ? ItemStack.EMPTY : handlerSlot.itemHandler.getStackInSlot(handlerSlot.slot);
 	}
 
-	private Tuple<IItemHandler, Integer> getHandlerSlot(int origSlot) {
-		Tuple<IItemHandler, Integer> handlerSlot = null;
-		int adjustedSlot = origSlot;
-		for(IItemHandler itemHandler : itemHandlers.values()) {
-			if(adjustedSlot < itemHandler.getSlots()) {
-				handlerSlot = new Tuple<>(itemHandler, adjustedSlot);
-				break;
-			}
-			adjustedSlot -= itemHandler.getSlots();
+	//item handlers can change their number of slots at any time (e.g. harvest rod gets a new plantable) so slot counts are read on every use
+	@Nullable
+	private HandlerSlot getHandlerSlot(int slot) {
+		if(slot < 0)
+			return null;
+
+		for(IItemHandler itemHandler : itemHandlers) {
+			int handlerSlots = itemHandler.getSlots();
+			if(slot < handlerSlots)
+				return new HandlerSlot(itemHandler, slot);
+			slot -= handlerSlots;
 		}
-		return handlerSlot;
+		return null;
 	}
 
 	@Nonnull
@@ -477,9 +563,11 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 
 		int adjustedSlot = slot - slots;
 
-		Tuple<IItemHandler, Integer> handlerSlot = getHandlerSlot(adjustedSlot);
+		HandlerSlot handlerSlot = getHandlerSlot(adjustedSlot);
+		if(handlerSlot == null)
+			return ItemStack.EMPTY;
 
-		return handlerSlot.getFirst().extractItem(handlerSlot.getSecond(), count, false);
+		return handlerSlot.itemHandler.extractItem(handlerSlot.slot, count, false);
 	}
 
 	private ItemStack decrStackInInventory(int slot, int count) {
@@ -491,13 +579,7 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 			} else {
 				stack = this.inventory.get(slot);
 
-				if(redstoneItems.containsKey(slot)) {
-					redstoneItems.get(slot).onRemoved(inventory.get(slot), this);
-				} else if(actionItems.containsKey(slot)) {
-					actionItems.get(slot).onRemoved(inventory.get(slot), this);
-				} else if(itemWrappers.containsKey(slot)) {
-					itemWrappers.get(slot).onRemoved(inventory.get(slot), this);
-				}
+				notifyItemRemoved(slot);
 
 				this.inventory.set(slot, ItemStack.EMPTY);
 
@@ -529,13 +611,7 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 		if(slot < slots) {
 			stack = this.inventory.get(slot);
 
-			if(redstoneItems.containsKey(slot)) {
-				redstoneItems.get(slot).onRemoved(inventory.get(slot), this);
-			} else if(actionItems.containsKey(slot)) {
-				actionItems.get(slot).onRemoved(inventory.get(slot), this);
-			} else if(itemWrappers.containsKey(slot)) {
-				itemWrappers.get(slot).onRemoved(inventory.get(slot), this);
-			}
+			notifyItemRemoved(slot);
 
 			this.inventory.set(slot, ItemStack.EMPTY);
 
@@ -546,11 +622,16 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 
 		int adjustedSlot = slot - slots;
 
-		Tuple<IItemHandler, Integer> handlerSlot = getHandlerSlot(adjustedSlot);
+		HandlerSlot handlerSlot = getHandlerSlot(adjustedSlot);
+		if(handlerSlot == null)
+			return ItemStack.EMPTY;
+
+		IItemHandler itemHandler = handlerSlot.itemHandler;
+		adjustedSlot = handlerSlot.slot;
 
-		stack = handlerSlot.getFirst().getStackInSlot(handlerSlot.getSecond());
+		stack = itemHandler.getStackInSlot(adjustedSlot);
 
-		return handlerSlot.getFirst().extractItem(handlerSlot.getSecond(), stack.getCount(), false);
+		return itemHandler.extractItem(adjustedSlot, stack.getCount(), false);
 	}
 
 	@Override
@@ -559,13 +640,9 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 			IPedestalRedstoneItem removedRedstoneItem = null;
 			IPedestalActionItem removedActionItem = null;
 			if(stack.isEmpty()) {
-				if(redstoneItems.containsKey(slot)) {
-					removedRedstoneItem = redstoneItems.get(slot);
-				} else if(actionItems.containsKey(slot)) {
-					removedActionItem = actionItems.get(slot);
-				} else if(itemWrappers.containsKey(slot)) {
-					removedActionItem = itemWrappers.get(slot);
-				}
+				removedRedstoneItem = getRedstoneItem(slot);
+				if(removedRedstoneItem == null)
+					removedActionItem = getActionItem(slot);
 			}
 
 			this.inventory.set(slot, stack);
@@ -583,10 +660,12 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 
 		int adjustedSlot = slot - slots;
 
-		Tuple<IItemHandler, Integer> handlerSlot = getHandlerSlot(adjustedSlot);
+		HandlerSlot handlerSlot = getHandlerSlot(adjustedSlot);
+		if(handlerSlot == null)
+			return;
 
-		IItemHandler itemHandler = handlerSlot.getFirst();
-		adjustedSlot = handlerSlot.getSecond();
+		IItemHandler itemHandler = handlerSlot.itemHandler;
+		adjustedSlot = handlerSlot.slot;
 
 		ItemStack stackInSlot = itemHandler.getStackInSlot(adjustedSlot);
 
@@ -609,10 +688,12 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 
 		int adjustedSlot = index - slots;
 
-		Tuple<IItemHandler, Integer> handlerSlot = getHandlerSlot(adjustedSlot);
+		HandlerSlot handlerSlot = getHandlerSlot(adjustedSlot);
+		if(handlerSlot == null)
+			return false;
 
-		IItemHandler itemHandler = handlerSlot.getFirst();
-		adjustedSlot = handlerSlot.getSecond();
+		IItemHandler itemHandler = handlerSlot.itemHandler;
+		adjustedSlot = handlerSlot.slot;
 
 		ItemStack returnedStack = itemHandler.insertItem(adjustedSlot, stack, true);
 
@@ -621,6 +702,7 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 
 	public void toggleSwitch() {
 		switchedOn = !switchedOn;
+		FortuneCoinDisabledZones.update(this);
 
 		if(switchedOn)
 			switchOn(null);
@@ -645,4 +727,20 @@ public class TileEntityPedestal extends TileEntityPedestalPassive implements IPe
 	List<ItemStack> getFluidContainers() {
 		return fluidContainers;
 	}
+
+	private static class SlotHandlers {
+		//either the item itself or its wrapper
+		private IPedestalActionItem actionItem;
+		private IPedestalRedstoneItem redstoneItem;
+	}
+
+	private static class HandlerSlot {
+		private final IItemHandler itemHandler;
+		private final int slot;
+
+		private HandlerSlot(IItemHandler itemHandler, int slot) {
+			this.itemHandler = itemHandler;
+			this.slot = slot;
+		}
+	}
 }
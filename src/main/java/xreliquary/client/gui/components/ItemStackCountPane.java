@@ -7,6 +7,8 @@ public class ItemStackCountPane extends Component {
 	private final ItemStackPane itemStackPane;
 	private TextPane countPane;
 	private Box box;
+	//set on the first update so that the text width gets measured
+	private Integer count = null;
 
 	public ItemStackCountPane(ItemStack itemStack, int count) {
 		this(itemStack, count, Colors.get(Colors.PURE));
@@ -22,6 +24,10 @@ public class ItemStackCountPane extends Component {
 	}
 
 	public void setCount(int count) {
+		if(this.count != null && this.count == count)
+			return;
+
+		this.count = count;
 		countPane.setText(String.valueOf(count));
 	}
 
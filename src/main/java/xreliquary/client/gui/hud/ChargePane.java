@@ -16,14 +16,14 @@ import java.util.function.Function;
 public class ChargePane extends Component {
 	private Item mainItem;
 	private ItemStackCountPane chargeablePane;
-	private Function<ItemStack, Integer> getCount;
+	private HUDStateCache<Integer> count;
 
 	public ChargePane(Item mainItem, ItemStack chargeItem, Function<ItemStack, Integer> getCount) {
 		this(mainItem, chargeItem, getCount, Colors.get(Colors.PURE));
 	}
 	public ChargePane(Item mainItem, ItemStack chargeItem, Function<ItemStack, Integer> getCount, int textColor) {
 		this.mainItem = mainItem;
-		this.getCount = getCount;
+		this.count = new HUDStateCache<>(getCount);
 
 		chargeablePane = new ItemStackCountPane(chargeItem, 0, textColor);
 	}
@@ -51,7 +51,7 @@ public class ChargePane extends Component {
 		if(itemStack.isEmpty())
 			return;
 
-		chargeablePane.setCount(getCount.apply(itemStack));
+		chargeablePane.setCount(count.get(itemStack));
 		chargeablePane.render(x, y);
 	}
 }
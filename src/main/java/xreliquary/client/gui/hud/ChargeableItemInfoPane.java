@@ -19,7 +19,7 @@ public class ChargeableItemInfoPane extends Component {
 	private Map<String, Component> modePanes = Maps.newHashMap();
 	private HUDPosition hudPosition;
 	private String lastMode;
-	private Function<ItemStack, String> getMode;
+	private HUDStateCache<String> mode;
 
 	public ChargeableItemInfoPane(ItemStack mainItem, HUDPosition hudPosition, Function<ItemStack, String> getMode, Map<String, Component> modePanes) {
 		this(mainItem, getMode, hudPosition);
@@ -44,7 +44,7 @@ public class ChargeableItemInfoPane extends Component {
 
 	private ChargeableItemInfoPane(ItemStack mainItem, Function<ItemStack, String> getMode, HUDPosition hudPosition) {
 		this.mainItem = mainItem;
-		this.getMode = getMode;
+		this.mode = new HUDStateCache<>(getMode);
 		this.hudPosition = hudPosition;
 	}
 
@@ -78,12 +78,13 @@ public class ChargeableItemInfoPane extends Component {
 	public void renderInternal(int x, int y) {
 		ItemStack mainStack = InventoryHelper.getCorrectItemFromEitherHand(Minecraft.getMinecraft().player, mainItem.getItem());
 
-		String mode = getMode.apply(mainStack);
-		if (!lastMode.equals(mode)) {
-			if (modePanes.keySet().contains(mode)) {
-				updateCurrentPane(modePanes.get(mode), mode);
+		String currentMode = mode.get(mainStack);
+		if (!lastMode.equals(currentMode)) {
+			if (modePanes.keySet().contains(currentMode)) {
+				updateCurrentPane(modePanes.get(currentMode), currentMode);
 			} else if (modePanes.keySet().contains(DYNAMIC_PANE)) {
-				updateCurrentPane(modePanes.get(DYNAMIC_PANE), DYNAMIC_PANE);
+				//keeps the actual mode so that the panel doesn't get rebuilt every frame for modes shown in dynamic pane
+				updateCurrentPane(modePanes.get(DYNAMIC_PANE), currentMode);
 			}
 		}
 
@@ -15,13 +15,13 @@ import java.util.function.Function;
 public class DynamicChargePane extends Component {
 	private Item mainItem;
 	private ItemStackCountPane chargeablePane;
-	private Function<ItemStack, ItemStack> getChargeItem;
-	private Function<ItemStack, Integer> getCount;
+	private HUDStateCache<ItemStack> chargeItem;
+	private HUDStateCache<Integer> count;
 
 	public DynamicChargePane(Item mainItem, Function<ItemStack, ItemStack> getChargeItem, Function<ItemStack, Integer> getCount) {
 		this.mainItem = mainItem;
-		this.getChargeItem = getChargeItem;
-		this.getCount = getCount;
+		this.chargeItem = new HUDStateCache<>(getChargeItem);
+		this.count = new HUDStateCache<>(getCount);
 
 		chargeablePane = new ItemStackCountPane(ItemStack.EMPTY, 0);
 	}
@@ -49,8 +49,8 @@ public class DynamicChargePane extends Component {
 		if(itemStack.isEmpty())
 			return;
 
-		chargeablePane.setItemStack(getChargeItem.apply(itemStack));
-		chargeablePane.setCount(getCount.apply(itemStack));
+		chargeablePane.setItemStack(chargeItem.get(itemStack));
+		chargeablePane.setCount(count.get(itemStack));
 		chargeablePane.render(x, y);
 	}
 }
@@ -3,43 +3,72 @@ package xreliquary.client.gui.hud;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.ScaledResolution;
 import net.minecraft.client.renderer.GlStateManager;
-import net.minecraft.util.Tuple;
 import xreliquary.client.gui.components.Component;
 
 public class HUDRenderrer {
+	private static ScaledResolution scaledResolution = null;
+	private static int displayWidth;
+	private static int displayHeight;
+	private static int guiScale;
+	private static boolean forceUnicodeFont;
+
 	public static void render(Component component, HUDPosition position) {
 		if (component.shouldRender()) {
-			Minecraft mc = Minecraft.getMinecraft();
-			ScaledResolution sr = new ScaledResolution(mc);
-			Tuple<Integer, Integer>	xy = getXYPosition(sr, component, position);
+			ScaledResolution sr = getScaledResolution();
+			renderComponent(getXPosition(sr, component, position), getYPosition(sr, component, position), component);
+		}
+	}
 
-			renderComponent(sr, xy.getFirst(), xy.getSecond(), component);
+	//only changes when window gets resized or gui settings change so there's no need to create it for every component every frame
+	private static ScaledResolution getScaledResolution() {
+		Minecraft mc = Minecraft.getMinecraft();
+		if (scaledResolution == null || displayWidth != mc.displayWidth || displayHeight != mc.displayHeight
+				|| guiScale != mc.gameSettings.guiScale || forceUnicodeFont != mc.isUnicode()) {
+			scaledResolution = new ScaledResolution(mc);
+			displayWidth = mc.displayWidth;
+			displayHeight = mc.displayHeight;
+			guiScale = mc.gameSettings.guiScale;
+			forceUnicodeFont = mc.isUnicode();
 		}
+		return scaledResolution;
 	}
 
-	private static void renderComponent(ScaledResolution sr, int x, int y, Component component) {
+	private static void renderComponent(int x, int y, Component component) {
 		GlStateManager.pushMatrix();
 		component.render(x, y);
 		GlStateManager.popMatrix();
 	}
 
-	private static Tuple<Integer, Integer> getXYPosition(ScaledResolution sr, Component component, HUDPosition position) {
+	private static int getXPosition(ScaledResolution sr, Component component, HUDPosition position) {
 		switch(position) {
 			case BOTTOM_LEFT:
-				return new Tuple<>(0, sr.getScaledHeight() - component.getHeight());
 			case LEFT:
-				return new Tuple<>(0, (sr.getScaledHeight() - component.getHeight()) / 2);
 			case TOP_LEFT:
-				return new Tuple<>(0, 0);
+				return 0;
 			case TOP:
-				return new Tuple<>((sr.getScaledWidth() - component.getWidth()) / 2, 0);
+				return (sr.getScaledWidth() - component.getWidth()) / 2;
 			case TOP_RIGHT:
-				return new Tuple<>(sr.getScaledWidth() - component.getWidth(), 0);
 			case RIGHT:
-				return new Tuple<>(sr.getScaledWidth() - component.getWidth(), (sr.getScaledHeight() - component.getHeight()) / 2);
 			case BOTTOM_RIGHT:
 			default:
-				return new Tuple<>(sr.getScaledWidth() - component.getWidth(), sr.getScaledHeight() - component.getHeight());
+				return sr.getScaledWidth() - component.getWidth();
+		}
+	}
+
+	private static int getYPosition(ScaledResolution sr, Component component, HUDPosition position) {
+		switch(position) {
+			case BOTTOM_LEFT:
+				return sr.getScaledHeight() - component.getHeight();
+			case LEFT:
+			case RIGHT:
+				return (sr.getScaledHeight() - component.getHeight()) / 2;
+			case TOP_LEFT:
+			case TOP:
+			case TOP_RIGHT:
+				return 0;
+			case BOTTOM_RIGHT:
+			default:
+				return sr.getScaledHeight() - component.getHeight();
 		}
 	}
 
@@ -0,0 +1,47 @@
+package xreliquary.client.gui.hud;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Value that a HUD pane shows for the held stack. It only gets read from the stack again when the player holds a different stack,
+ * the NBT of the stack changes, the item in use count changes or a sync packet updates contents of held items.
+ */
+public class HUDStateCache<T> {
+	//sync packets update contained stacks in place so these just invalidate all cached values
+	private static int syncRevision = 0;
+
+	private final Function<ItemStack, T> getValue;
+	private ItemStack stack = ItemStack.EMPTY;
+	private NBTTagCompound tag = null;
+	private int revision = -1;
+	private int itemInUseCount = 0;
+	private T value;
+
+	public HUDStateCache(Function<ItemStack, T> getValue) {
+		this.getValue = getValue;
+	}
+
+	public static void invalidateAll() {
+		syncRevision++;
+	}
+
+	public T get(ItemStack stack) {
+		EntityPlayer player = Minecraft.getMinecraft().player;
+		int currentItemInUseCount = player == null ? 0 : player.getItemInUseCount();
+
+		if(revision != syncRevision || stack != this.stack || itemInUseCount != currentItemInUseCount || !Objects.equals(tag, stack.getTagCompound())) {
+			this.stack = stack;
+			this.tag = stack.getTagCompound() == null ? null : stack.getTagCompound().copy();
+			this.revision = syncRevision;
+			this.itemInUseCount = currentItemInUseCount;
+			this.value = getValue.apply(stack);
+		}
+		return value;
+	}
+}
@@ -0,0 +1,215 @@
+package xreliquary.client.render;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GLAllocation;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.block.model.IBakedModel;
+import net.minecraft.client.renderer.block.model.ItemCameraTransforms;
+import net.minecraft.client.renderer.color.ItemColors;
+import net.minecraft.client.renderer.texture.TextureMap;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.MathHelper;
+import net.minecraftforge.client.ForgeHooksClient;
+import net.minecraftforge.client.model.pipeline.LightUtil;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import org.lwjgl.opengl.GL11;
+import xreliquary.blocks.tile.TileEntityPedestalPassive;
+import xreliquary.reference.Reference;
+import xreliquary.reference.Settings;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders the item on top of pedestals with an entity kept for every pedestal until its item changes. Items further away than
+ * the animation range are rendered still and passive pedestals can have their item compiled into a display list
+ * as their item doesn't change much once put on display.
+ */
+@Mod.EventBusSubscriber(modid = Reference.MOD_ID, value = Side.CLIENT)
+public class PedestalItemRenderCache {
+	private static final int CLEANUP_INTERVAL = 200;
+	private static final Map<TileEntityPedestalPassive, RenderEntry> entries = new HashMap<>();
+	private static int ticksToCleanup = CLEANUP_INTERVAL;
+
+	public static void renderItem(TileEntityPedestalPassive te, double x, double y, double z, boolean canBake) {
+		RenderEntry entry = getEntry(te);
+		boolean animate = isInAnimationRange(x, y, z);
+		if(!animate && canBake && Settings.Blocks.Pedestal.staticPassivePedestals && entry.canBake()) {
+			renderBaked(entry, x, y, z);
+			return;
+		}
+
+		GlStateManager.pushMatrix();
+		translateAndRotate(x, y, z, animate);
+		Minecraft.getMinecraft().getRenderManager().renderEntity(entry.item, 0.0D, 0.0D, 0.0D, 0.0F, 0.0F, false);
+		GlStateManager.popMatrix();
+	}
+
+	//only the model quads go into the display list, GL state and transforms are set up the same way item entities do it on every render
+	private static void renderBaked(RenderEntry entry, double x, double y, double z) {
+		IBakedModel model = entry.getModel();
+
+		Minecraft.getMinecraft().getTextureManager().bindTexture(TextureMap.LOCATION_BLOCKS_TEXTURE);
+		GlStateManager.enableRescaleNormal();
+		GlStateManager.alphaFunc(GL11.GL_GREATER, 0.1F);
+		GlStateManager.enableBlend();
+		GlStateManager.tryBlendFuncSeparate(GlStateManager.SourceFactor.SRC_ALPHA, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA, GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ZERO);
+		GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+
+		GlStateManager.pushMatrix();
+		translateAndRotate(x, y, z, false);
+		//item entity bob at age 0 and its lift by the model's ground scale
+		float groundScale = model.getItemCameraTransforms().getTransform(ItemCameraTransforms.TransformType.GROUND).scale.y;
+		GlStateManager.translate(0.0F, 0.1F + 0.25F * groundScale, 0.0F);
+		model = ForgeHooksClient.handleCameraTransforms(model, ItemCameraTransforms.TransformType.GROUND, false);
+		GlStateManager.translate(-0.5F, -0.5F, -0.5F);
+
+		if(entry.displayList < 0) {
+			entry.displayList = GLAllocation.generateDisplayLists(1);
+			GlStateManager.glNewList(entry.displayList, GL11.GL_COMPILE);
+			renderQuads(model, entry.item.getItem());
+			GlStateManager.glEndList();
+		}
+		GlStateManager.callList(entry.displayList);
+
+		GlStateManager.popMatrix();
+		GlStateManager.disableRescaleNormal();
+		GlStateManager.disableBlend();
+	}
+
+	private static void renderQuads(IBakedModel model, ItemStack stack) {
+		Tessellator tessellator = Tessellator.getInstance();
+		BufferBuilder buffer = tessellator.getBuffer();
+		buffer.begin(GL11.GL_QUADS, DefaultVertexFormats.ITEM);
+		for(EnumFacing facing : EnumFacing.VALUES) {
+			addQuads(buffer, model.getQuads(null, facing, 0L), stack);
+		}
+		addQuads(buffer, model.getQuads(null, null, 0L), stack);
+		tessellator.draw();
+	}
+
+	private static void addQuads(BufferBuilder buffer, List<BakedQuad> quads, ItemStack stack) {
+		ItemColors itemColors = Minecraft.getMinecraft().getItemColors();
+		for(BakedQuad quad : quads) {
+			int color = quad.hasTintIndex() ? itemColors.colorMultiplier(stack, quad.getTintIndex()) | 0xFF000000 : 0xFFFFFFFF;
+			LightUtil.renderQuadColor(buffer, quad, color);
+		}
+	}
+
+	private static void translateAndRotate(double x, double y, double z, boolean animate) {
+		float yDiff = animate ? MathHelper.sin((System.currentTimeMillis() % 86400000) / 1000F) * 0.1F + 0.1F : 0.1F;
+		GlStateManager.translate((float) x + 0.5F, (float) y + 0.65F + yDiff, (float) z + 0.5F);
+		if(animate) {
+			float f3 = ((System.currentTimeMillis() % 86400000) / 2000F) * (180F / (float) Math.PI);
+			GlStateManager.rotate(f3, 0.0F, 1.0F, 0.0F);
+		}
+		GlStateManager.scale(0.75d, 0.75d, 0.75d);
+	}
+
+	//x, y and z are relative to the camera
+	private static boolean isInAnimationRange(double x, double y, double z) {
+		int range = Settings.Blocks.Pedestal.animationRange;
+		if(range == 0)
+			return true;
+
+		double dx = x + 0.5D;
+		double dy = y + 0.5D;
+		double dz = z + 0.5D;
+		return dx * dx + dy * dy + dz * dz <= (double) range * range;
+	}
+
+	private static RenderEntry getEntry(TileEntityPedestalPassive te) {
+		ItemStack stack = te.getStackInSlot(0);
+		RenderEntry entry = entries.get(te);
+		if(entry == null) {
+			entry = new RenderEntry();
+			entries.put(te, entry);
+		} else if(entry.stack == stack || isSameItem(entry.item.getItem(), stack)) {
+			entry.stack = stack;
+			return entry;
+		}
+
+		entry.stack = stack;
+		ItemStack renderStack = stack.copy();
+		renderStack.setCount(1);
+		entry.item = new EntityItem(te.getWorld(), 0.0D, 0.0D, 0.0D, renderStack);
+		entry.item.hoverStart = 0.0F;
+		entry.deleteDisplayList();
+		return entry;
+	}
+
+	//stacks can get changed in place so the reference check above isn't enough on its own
+	private static boolean isSameItem(ItemStack renderStack, ItemStack stack) {
+		return ItemStack.areItemsEqual(renderStack, stack) && ItemStack.areItemStackTagsEqual(renderStack, stack);
+	}
+
+	@SubscribeEvent
+	public static void onClientTick(TickEvent.ClientTickEvent event) {
+		if(event.phase != TickEvent.Phase.END || entries.isEmpty() || --ticksToCleanup > 0)
+			return;
+
+		ticksToCleanup = CLEANUP_INTERVAL;
+		Iterator<Map.Entry<TileEntityPedestalPassive, RenderEntry>> iterator = entries.entrySet().iterator();
+		while(iterator.hasNext()) {
+			Map.Entry<TileEntityPedestalPassive, RenderEntry> mapEntry = iterator.next();
+			TileEntityPedestalPassive te = mapEntry.getKey();
+			if(te.isInvalid() || te.getWorld() != Minecraft.getMinecraft().world || te.getWorld().getTileEntity(te.getPos()) != te) {
+				mapEntry.getValue().deleteDisplayList();
+				iterator.remove();
+			}
+		}
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		if(!event.getWorld().isRemote)
+			return;
+
+		for(RenderEntry entry : entries.values()) {
+			entry.deleteDisplayList();
+		}
+		entries.clear();
+	}
+
+	private static class RenderEntry {
+		private ItemStack stack = ItemStack.EMPTY;
+		private EntityItem item;
+		private int displayList = -1;
+		private Boolean bakeable = null;
+		private IBakedModel model = null;
+
+		//enchantment glint and items with custom renderers are animated so these can't be baked
+		private boolean canBake() {
+			if(bakeable == null)
+				bakeable = !item.getItem().hasEffect() && !getModel().isBuiltInRenderer();
+			return bakeable;
+		}
+
+		private IBakedModel getModel() {
+			if(model == null)
+				model = Minecraft.getMinecraft().getRenderItem().getItemModelWithOverrides(item.getItem(), item.world, null);
+			return model;
+		}
+
+		private void deleteDisplayList() {
+			bakeable = null;
+			model = null;
+			if(displayList >= 0) {
+				GLAllocation.deleteDisplayLists(displayList);
+				displayList = -1;
+			}
+		}
+	}
+}
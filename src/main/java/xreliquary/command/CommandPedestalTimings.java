@@ -0,0 +1,64 @@
+package xreliquary.command;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentTranslation;
+import xreliquary.pedestal.PedestalScheduler;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+
+public class CommandPedestalTimings extends CommandBase {
+	private static final int MAX_LINES = 10;
+
+	@Nonnull
+	@Override
+	public String getName() {
+		return "xreliquary_pedestal_timings";
+	}
+
+	@Nonnull
+	@Override
+	public String getUsage(@Nonnull ICommandSender sender) {
+		return "commands.xreliquary.pedestal_timings.usage";
+	}
+
+	@Override
+	public int getRequiredPermissionLevel() {
+		return 2;
+	}
+
+	@Override
+	public void execute(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args) throws CommandException {
+		if(args.length == 1 && args[0].equals("reset")) {
+			PedestalScheduler.resetTimings();
+			sender.sendMessage(new TextComponentTranslation("commands.xreliquary.pedestal_timings.reset"));
+			return;
+		}
+
+		if(args.length > 0)
+			throw new WrongUsageException(getUsage(sender));
+
+		sender.sendMessage(new TextComponentTranslation("commands.xreliquary.pedestal_timings.summary", PedestalScheduler.getScheduledCount(), PedestalScheduler.getDeferredUpdates()));
+
+		List<PedestalScheduler.ItemTiming> timings = PedestalScheduler.getItemTimings();
+		for(int i = 0; i < Math.min(MAX_LINES, timings.size()); i++) {
+			PedestalScheduler.ItemTiming timing = timings.get(i);
+			sender.sendMessage(new TextComponentTranslation("commands.xreliquary.pedestal_timings.item", timing.getName(), timing.getCalls(),
+					String.format("%.1f", timing.getTotalNanos() / 1000000D), String.format("%.1f", timing.getTotalNanos() / 1000D / timing.getCalls()),
+					String.format("%.1f", timing.getMaxNanos() / 1000D)));
+		}
+	}
+
+	@Nonnull
+	@Override
+	public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args, @Nullable BlockPos targetPos) {
+		return args.length == 1 ? getListOfStringsMatchingLastWord(args, "reset") : Collections.emptyList();
+	}
+}
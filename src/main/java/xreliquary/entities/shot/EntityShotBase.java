@@ -3,7 +3,6 @@ package xreliquary.entities.shot;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.EntityList;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.IProjectile;
@@ -29,10 +28,9 @@ import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
-import org.apache.commons.lang3.ArrayUtils;
 import xreliquary.reference.ClientReference;
+import xreliquary.reference.CompiledSettings;
 import xreliquary.reference.Reference;
-import xreliquary.reference.Settings;
 import xreliquary.util.potions.XRPotionHelper;
 
 import javax.annotation.Nonnull;
@@ -465,7 +463,6 @@ public abstract class EntityShotBase extends Entity implements IProjectile {
 	 */
 	void seekTarget() {
 		Entity closestTarget = null;
-		String[] huntableEntitiesBlacklist = Settings.Items.SeekerShot.huntableEntitiesBlacklist;
 		List targetsList = world.getEntitiesInAABBexcluding(this, new AxisAlignedBB(posX - 5, posY - 5, posZ - 5, posX + 5, posY + 5, posZ + 5),
 				e -> e instanceof EntityLiving);
 		Iterator iTarget = targetsList.iterator();
@@ -473,8 +470,7 @@ public abstract class EntityShotBase extends Entity implements IProjectile {
 		while(iTarget.hasNext()) {
 			Entity currentTarget = (Entity) iTarget.next();
 
-			String entityName = EntityList.getEntityString(currentTarget);
-			if(ArrayUtils.contains(huntableEntitiesBlacklist, entityName) || (currentTarget == shootingEntity) || (currentTarget.isDead))
+			if(CompiledSettings.isHuntableEntityBlacklisted(currentTarget) || (currentTarget == shootingEntity) || (currentTarget.isDead))
 				continue;
 			// goes for the closest thing it can
 			if(this.getDistance(currentTarget) < closestDistance) {
@@ -28,6 +28,7 @@ import xreliquary.client.gui.hud.CharmPane;
 import xreliquary.client.gui.hud.DynamicChargePane;
 import xreliquary.client.gui.hud.HUDPosition;
 import xreliquary.client.gui.hud.HUDRenderrer;
+import xreliquary.client.gui.hud.HUDStateCache;
 import xreliquary.client.gui.hud.HandgunPane;
 import xreliquary.client.gui.hud.HeroMedallionPane;
 import xreliquary.init.ModBlocks;
@@ -123,7 +124,9 @@ public class ClientEventHandler {
 	}
 
 	private static void renderHUDComponents() {
-		for (Tuple<Component, HUDPosition> component : hudComponents) {
+		//noinspection ForLoopReplaceableByForEach - runs every frame so no iterator
+		for (int i = 0; i < hudComponents.size(); i++) {
+			Tuple<Component, HUDPosition> component = hudComponents.get(i);
 			HUDRenderrer.render(component.getFirst(), component.getSecond());
 		}
 	}
@@ -179,9 +182,11 @@ public class ClientEventHandler {
 						ItemVoidTear.Mode.NO_REFILL.getName(), Box.createVertical(Box.Alignment.RIGHT, new TextPane(LanguageHelper.getLocalization("item.void_tear.mode." + ItemVoidTear.Mode.NO_REFILL.getName().toLowerCase())) , contentsPane),
 						ItemVoidTear.Mode.ONE_STACK.getName(), Box.createVertical(Box.Alignment.RIGHT, new TextPane(LanguageHelper.getLocalization("item.void_tear.mode." + ItemVoidTear.Mode.ONE_STACK.getName().toLowerCase())) , contentsPane)
 				)) {
+			private final HUDStateCache<Boolean> empty = new HUDStateCache<>(is -> ModItems.voidTear.isEmpty(is, true));
+
 			@Override
 			public boolean shouldRender() {
-				return !ModItems.voidTear.isEmpty(InventoryHelper.getCorrectItemFromEitherHand(Minecraft.getMinecraft().player, ModItems.voidTear), true);
+				return !empty.get(InventoryHelper.getCorrectItemFromEitherHand(Minecraft.getMinecraft().player, ModItems.voidTear));
 			}
 		},	Settings.HudPositions.voidTear));
 
@@ -13,20 +13,19 @@ import xreliquary.reference.Compatibility;
 
 public class PedestalItems {
 	public static void init() {
-		PedestalRegistry.registerItemWrapper(ItemSword.class, PedestalMeleeWeaponWrapper.class);
-		PedestalRegistry.registerItemWrapper(ItemBucket.class, PedestalBucketWrapper.class);
-		PedestalRegistry.registerItemWrapper(ItemShears.class, PedestalShearsWrapper.class);
-		PedestalRegistry.registerItemWrapper(ItemRendingGale.class, PedestalRendingGaleWrapper.class);
-		PedestalRegistry.registerItemWrapper(ItemHarvestRod.class, PedestalHarvestRodWrapper.class);
-		PedestalRegistry.registerItemWrapper(ItemRedstone.class, PedestalRedstoneWrapper.Toggleable.class);
-		PedestalRegistry.registerItemBlockWrapper(BlockCompressedPowered.class, PedestalRedstoneWrapper.AlwaysOn.class);
-		PedestalRegistry.registerItemBlockWrapper(BlockCompressedPowered.class, PedestalRedstoneWrapper.AlwaysOn.class);
-		PedestalRegistry.registerItemWrapper(ItemFishingRod.class, PedestalFishingRodWrapper.class);
+		PedestalRegistry.registerItemWrapper(ItemSword.class, PedestalMeleeWeaponWrapper::new);
+		PedestalRegistry.registerItemWrapper(ItemBucket.class, PedestalBucketWrapper::new);
+		PedestalRegistry.registerItemWrapper(ItemShears.class, PedestalShearsWrapper::new);
+		PedestalRegistry.registerItemWrapper(ItemRendingGale.class, PedestalRendingGaleWrapper::new);
+		PedestalRegistry.registerItemWrapper(ItemHarvestRod.class, PedestalHarvestRodWrapper::new);
+		PedestalRegistry.registerItemWrapper(ItemRedstone.class, PedestalRedstoneWrapper.Toggleable::new);
+		PedestalRegistry.registerItemBlockWrapper(BlockCompressedPowered.class, PedestalRedstoneWrapper.AlwaysOn::new);
+		PedestalRegistry.registerItemWrapper(ItemFishingRod.class, PedestalFishingRodWrapper::new);
 
 		if(Loader.isModLoaded(Compatibility.MOD_ID.TINKERS_CONSTRUCT)) {
-			PedestalRegistry.registerItemWrapper(SwordCore.class, PedestalMeleeWeaponWrapper.class);
-			PedestalRegistry.registerItemWrapper(Scythe.class, PedestalMeleeWeaponWrapper.class);
-			//PedestalRegistry.registerItemWrapper(BattleAxe.class, PedestalMeleeWeaponWrapper.class); not implemented yet in TiCon
+			PedestalRegistry.registerItemWrapper(SwordCore.class, PedestalMeleeWeaponWrapper::new);
+			PedestalRegistry.registerItemWrapper(Scythe.class, PedestalMeleeWeaponWrapper::new);
+			//PedestalRegistry.registerItemWrapper(BattleAxe.class, PedestalMeleeWeaponWrapper::new); not implemented yet in TiCon
 		}
 	}
 }
@@ -1,6 +1,7 @@
 package xreliquary.items;
 
 import com.google.common.collect.ImmutableMap;
+import net.minecraft.block.Block;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
@@ -11,14 +12,14 @@ import net.minecraft.util.*;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.world.World;
-import org.apache.commons.lang3.ArrayUtils;
 import xreliquary.Reliquary;
+import xreliquary.reference.CompiledSettings;
 import xreliquary.reference.Names;
 import xreliquary.reference.Settings;
 import xreliquary.util.InventoryHelper;
 import xreliquary.util.LanguageHelper;
 import xreliquary.util.NBTHelper;
-import xreliquary.util.RegistryHelper;
+import xreliquary.util.RegionHelper;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -100,29 +101,21 @@ public class ItemDestructionCatalyst extends ItemToggleable {
 			z = pos.getZ() + (side == EnumFacing.NORTH ? getExplosionRadius() : side == EnumFacing.SOUTH ? -getExplosionRadius() : 0);
 			x = pos.getX() + (side == EnumFacing.WEST ? getExplosionRadius() : side == EnumFacing.EAST ? -getExplosionRadius() : 0);
 		}
-		for(int xD = -getExplosionRadius(); xD <= getExplosionRadius(); xD++) {
-			for(int yD = -getExplosionRadius(); yD <= getExplosionRadius(); yD++) {
-				for(int zD = -getExplosionRadius(); zD <= getExplosionRadius(); zD++) {
-					if(!perfectCube()) {
-						BlockPos origin = new BlockPos(x, y, z);
-						BlockPos target = new BlockPos(x + xD, y + yD, z + zD);
-						double distance = origin.distanceSq(target);
-						if(distance >= getExplosionRadius())
-							continue;
-					}
-
-					if(isBreakable(RegistryHelper.getBlockRegistryName(world.getBlockState(new BlockPos(x + xD, y + yD, z + zD)).getBlock()))) {
-						world.setBlockState(new BlockPos(x + xD, y + yD, z + zD), Blocks.AIR.getDefaultState());
-						if(world.rand.nextInt(2) == 0) {
-							world.spawnParticle(EnumParticleTypes.EXPLOSION_LARGE, x + xD + (world.rand.nextFloat() - 0.5F), y + yD + (world.rand.nextFloat() - 0.5F), z + zD + (world.rand.nextFloat() - 0.5F), 0.0D, 0.0D, 0.0D);
-						}
-						destroyedSomething = true;
-						if(playOnce) {
-							world.playSound(x, y, z, SoundEvents.ENTITY_GENERIC_EXPLODE, SoundCategory.BLOCKS, 4.0F, (1.0F + (world.rand.nextFloat() - world.rand.nextFloat()) * 0.2F) * 0.7F, false);
-							playOnce = false;
-						}
-					}
-				}
+		int radius = getExplosionRadius();
+		boolean perfectCube = perfectCube();
+		BlockPos origin = new BlockPos(x, y, z);
+		List<BlockPos> blocksToDestroy = RegionHelper.findBlocks(world, origin, radius, (target, blockState) ->
+				(perfectCube || origin.distanceSq(target) < radius) && isBreakable(blockState.getBlock()));
+
+		for(BlockPos target : blocksToDestroy) {
+			world.setBlockState(target, Blocks.AIR.getDefaultState());
+			if(world.rand.nextInt(2) == 0) {
+				world.spawnParticle(EnumParticleTypes.EXPLOSION_LARGE, target.getX() + (world.rand.nextFloat() - 0.5F), target.getY() + (world.rand.nextFloat() - 0.5F), target.getZ() + (world.rand.nextFloat() - 0.5F), 0.0D, 0.0D, 0.0D);
+			}
+			destroyedSomething = true;
+			if(playOnce) {
+				world.playSound(x, y, z, SoundEvents.ENTITY_GENERIC_EXPLODE, SoundCategory.BLOCKS, 4.0F, (1.0F + (world.rand.nextFloat() - world.rand.nextFloat()) * 0.2F) * 0.7F, false);
+				playOnce = false;
 			}
 		}
 		if(destroyedSomething && !player.capabilities.isCreativeMode) {
@@ -130,8 +123,8 @@ public class ItemDestructionCatalyst extends ItemToggleable {
 		}
 	}
 
-	private boolean isBreakable(String id) {
-		return ArrayUtils.contains(Settings.Items.DestructionCatalyst.mundaneBlocks, id);
+	private boolean isBreakable(Block block) {
+		return CompiledSettings.isMundaneBlock(block);
 	}
 
 	private int gunpowderCost() {
@@ -14,7 +14,6 @@ import net.minecraft.init.SoundEvents;
 import net.minecraft.item.EnumAction;
 import net.minecraft.item.EnumRarity;
 import net.minecraft.item.ItemStack;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.EnumActionResult;
 import net.minecraft.util.EnumHand;
@@ -35,23 +34,22 @@ import vazkii.botania.common.block.subtile.functional.SubTileSolegnolia;
 import xreliquary.Reliquary;
 import xreliquary.api.IPedestal;
 import xreliquary.api.IPedestalActionItem;
-import xreliquary.blocks.tile.TileEntityPedestal;
 import xreliquary.client.ClientProxy;
 import xreliquary.init.ModFluids;
 import xreliquary.init.ModItems;
+import xreliquary.items.util.FortuneCoinDisabledZones;
 import xreliquary.network.PacketFortuneCoinTogglePressed;
 import xreliquary.network.PacketHandler;
-import xreliquary.pedestal.PedestalRegistry;
 import xreliquary.reference.Compatibility;
 import xreliquary.reference.Names;
 import xreliquary.reference.Settings;
+import xreliquary.util.EntityQueryCache;
 import xreliquary.util.LanguageHelper;
 import xreliquary.util.NBTHelper;
 import xreliquary.util.XpHelper;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.ArrayList;
 import java.util.List;
 
 @Optional.Interface(iface = "baubles.api.IBauble", modid = Compatibility.MOD_ID.BAUBLES, striprefs = true)
@@ -107,7 +105,7 @@ public class ItemFortuneCoin extends ItemBase implements IPedestalActionItem, IB
 		return isEnabled(stack);
 	}
 
-	private boolean isEnabled(ItemStack stack) {
+	public boolean isEnabled(ItemStack stack) {
 		return NBTHelper.getBoolean("enabled", stack);
 	}
 
@@ -134,11 +132,11 @@ public class ItemFortuneCoin extends ItemBase implements IPedestalActionItem, IB
 	}
 
 	private void scanForEntitiesInRange(World world, EntityPlayer player, double d) {
-		List<BlockPos> disablePositions = getDisablePositions(world, player.getPosition());
-		List<EntityItem> iList = world.getEntitiesWithinAABB(EntityItem.class, new AxisAlignedBB(player.posX - d, player.posY - d, player.posZ - d, player.posX + d, player.posY + d, player.posZ + d));
+		BlockPos coinPos = player.getPosition();
+		List<EntityItem> iList = EntityQueryCache.getEntitiesWithinAABB(world, EntityItem.class, new AxisAlignedBB(player.posX - d, player.posY - d, player.posZ - d, player.posX + d, player.posY + d, player.posZ + d));
 		for(EntityItem item : iList) {
 			//if entity is marked not to be picked up by magnets leave it alone - IE thing but may be more than that
-			if(!canPickupItem(item, disablePositions)) {
+			if(!canPickupItem(item, coinPos)) {
 				continue;
 			}
 
@@ -153,7 +151,7 @@ public class ItemFortuneCoin extends ItemBase implements IPedestalActionItem, IB
 			teleportEntityToPlayer(item, player);
 			break;
 		}
-		List<EntityXPOrb> iList2 = world.getEntitiesWithinAABB(EntityXPOrb.class, new AxisAlignedBB(player.posX - d, player.posY - d, player.posZ - d, player.posX + d, player.posY + d, player.posZ + d));
+		List<EntityXPOrb> iList2 = EntityQueryCache.getEntitiesWithinAABB(world, EntityXPOrb.class, new AxisAlignedBB(player.posX - d, player.posY - d, player.posZ - d, player.posX + d, player.posY + d, player.posZ + d));
 		for(EntityXPOrb item : iList2) {
 			if(player.xpCooldown > 0) {
 				player.xpCooldown = 0;
@@ -166,10 +164,10 @@ public class ItemFortuneCoin extends ItemBase implements IPedestalActionItem, IB
 		}
 	}
 
-	private boolean canPickupItem(EntityItem item, List<BlockPos> disablePositions) {
+	private boolean canPickupItem(EntityItem item, BlockPos coinPos) {
 		if (item.getEntityData().getBoolean("PreventRemoteMovement"))
 			return false;
-		if (isInDisabledRange(item, disablePositions))
+		if (FortuneCoinDisabledZones.isInDisabledZone(item.world, coinPos, item.getPosition()))
 			return false;
 		if (Compatibility.isLoaded(Compatibility.MOD_ID.BOTANIA)) {
 			if (SubTileSolegnolia.hasSolegnoliaAround(item))
@@ -178,36 +176,6 @@ public class ItemFortuneCoin extends ItemBase implements IPedestalActionItem, IB
 		return true;
 	}
 
-	private boolean isInDisabledRange(EntityItem item, List<BlockPos> disablePositions) {
-		for (BlockPos disablePos : disablePositions) {
-			if (Math.abs(item.getPosition().getX() - disablePos.getX()) < 5
-				&& Math.abs(item.getPosition().getY() - disablePos.getY()) < 5
-				&& Math.abs(item.getPosition().getZ() - disablePos.getZ()) < 5)
-				return true;
-		}
-		return false;
-	}
-
-	private List<BlockPos> getDisablePositions(World world, BlockPos coinPos) {
-		List<BlockPos> disablePositions = new ArrayList<>();
-		List<BlockPos> pedestalPositions = PedestalRegistry.getPositionsInRange(world.provider.getDimension(), coinPos, 10);
-
-		for (BlockPos pos : pedestalPositions) {
-			TileEntity te = world.getTileEntity(pos);
-			if (te instanceof TileEntityPedestal) {
-				TileEntityPedestal pedestal = (TileEntityPedestal) te;
-
-				if (pedestal.switchedOn()) {
-					ItemStack stack = pedestal.getStackInSlot(0);
-					if (!stack.isEmpty() && stack.getItem() == this && !isEnabled(stack)) {
-						disablePositions.add(pos);
-					}
-				}
-			}
-		}
-		return disablePositions;
-	}
-
 	private void teleportEntityToPlayer(Entity item, EntityPlayer player) {
 		player.world.spawnParticle(EnumParticleTypes.SPELL_MOB, item.posX + 0.5D + player.world.rand.nextGaussian() / 8, item.posY + 0.2D, item.posZ + 0.5D + player.world.rand.nextGaussian() / 8, 0.9D, 0.9D, 0.0D);
 		player.getLookVec();
@@ -299,12 +267,11 @@ public class ItemFortuneCoin extends ItemBase implements IPedestalActionItem, IB
 			BlockPos pos = pedestal.getBlockPos();
 			double d = getStandardPullDistance();
 
-			List<BlockPos> disablePositions = getDisablePositions(world, pos);
-			List<EntityItem> entities = world.getEntitiesWithinAABB(EntityItem.class, new AxisAlignedBB(pos.getX() - d, pos.getY() - d, pos.getZ() - d, pos.getX() + d, pos.getY() + d, pos.getZ() + d));
+			List<EntityItem> entities = EntityQueryCache.getEntitiesWithinAABB(world, EntityItem.class, new AxisAlignedBB(pos.getX() - d, pos.getY() - d, pos.getZ() - d, pos.getX() + d, pos.getY() + d, pos.getZ() + d));
 			for(EntityItem entityItem : entities) {
 
 				//if entity is marked not to be picked up by magnets leave it alone - IE thing but may be more than that
-				if(!canPickupItem(entityItem, disablePositions)) {
+				if(!canPickupItem(entityItem, pos)) {
 					continue;
 				}
 
@@ -319,7 +286,7 @@ public class ItemFortuneCoin extends ItemBase implements IPedestalActionItem, IB
 				}
 			}
 
-			List<EntityXPOrb> XPOrbs = world.getEntitiesWithinAABB(EntityXPOrb.class, new AxisAlignedBB(pos.getX() - d, pos.getY() - d, pos.getZ() - d, pos.getX() + d, pos.getY() + d, pos.getZ() + d));
+			List<EntityXPOrb> XPOrbs = EntityQueryCache.getEntitiesWithinAABB(world, EntityXPOrb.class, new AxisAlignedBB(pos.getX() - d, pos.getY() - d, pos.getZ() - d, pos.getX() + d, pos.getY() + d, pos.getZ() + d));
 			for(EntityXPOrb xpOrb : XPOrbs) {
 				int amountToTransfer = XpHelper.experienceToLiquid(xpOrb.xpValue);
 				int amountAdded = pedestal.fillConnectedTank(new FluidStack(ModFluids.xpJuice(), amountToTransfer));
@@ -22,6 +22,7 @@ import net.minecraft.world.World;
 import xreliquary.reference.Names;
 import xreliquary.util.LanguageHelper;
 import xreliquary.util.NBTHelper;
+import xreliquary.util.RegionHelper;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -75,12 +76,9 @@ public class ItemGlacialStaff extends ItemIceMagusRod {
 		int z = MathHelper.floor(player.posZ);
 
 		if(this.isEnabled(ist)) {
-			for(int xOff = -2; xOff <= 2; xOff++) {
-				for(int zOff = -2; zOff <= 2; zOff++) {
-					if(Math.abs(xOff) == 2 && Math.abs(zOff) == 2)
-						continue;
-					doFreezeCheck(ist, x, y, z, world, xOff, zOff);
-				}
+			for(BlockPos pos : RegionHelper.findBlocks(world, x - 2, y, z - 2, x + 2, y, z + 2, (pos, blockState) ->
+					!(Math.abs(pos.getX() - x) == 2 && Math.abs(pos.getZ() - z) == 2) && canBeFrozen(world, pos, blockState))) {
+				doFreeze(ist, pos.getX(), pos.getY(), pos.getZ(), world);
 			}
 		}
 
@@ -118,9 +116,15 @@ public class ItemGlacialStaff extends ItemIceMagusRod {
 		return locations;
 	}
 
-	private void doFreezeCheck(@Nonnull ItemStack ist, int x, int y, int z, World world, int xOff, int zOff) {
-		x += xOff;
-		z += zOff;
+	private boolean canBeFrozen(World world, BlockPos pos, IBlockState blockState) {
+		if(blockState.getBlock() == Blocks.WATER && blockState.getValue(BlockLiquid.LEVEL) == 0)
+			return world.isAirBlock(pos.up());
+
+		return blockState.getBlock() == Blocks.LAVA && blockState.getValue(BlockLiquid.LEVEL) == 0;
+	}
+
+	//blocks get checked again here as freezing one of the found blocks can change the ones found after it
+	private void doFreeze(@Nonnull ItemStack ist, int x, int y, int z, World world) {
 		IBlockState blockState = world.getBlockState(new BlockPos(x, y, z));
 		if(blockState.getBlock() == Blocks.WATER && blockState.getValue(BlockLiquid.LEVEL) == 0 && world.isAirBlock(new BlockPos(x, y + 1, z))) {
 			addFrozenBlockToList(ist, x, y, z);
@@ -1,9 +1,8 @@
 package xreliquary.items;
 
 import com.google.common.collect.ImmutableMap;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minecraft.block.Block;
-import net.minecraft.block.BlockDirt;
-import net.minecraft.block.IGrowable;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.entity.Entity;
@@ -16,6 +15,7 @@ import net.minecraft.init.Enchantments;
 import net.minecraft.init.Items;
 import net.minecraft.init.SoundEvents;
 import net.minecraft.item.EnumAction;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemDye;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
@@ -38,6 +38,7 @@ import xreliquary.blocks.BlockFertileLilypad;
 import xreliquary.entities.EntityXRFakePlayer;
 import xreliquary.init.ModCapabilities;
 import xreliquary.items.util.FilteredItemStackHandler;
+import xreliquary.items.util.HarvestRodAreaCache;
 import xreliquary.items.util.HarvestRodItemStackHandler;
 import xreliquary.items.util.IHarvestRodCache;
 import xreliquary.network.PacketCountSync;
@@ -48,6 +49,7 @@ import xreliquary.reference.Settings;
 import xreliquary.util.InventoryHelper;
 import xreliquary.util.LanguageHelper;
 import xreliquary.util.NBTHelper;
+import xreliquary.util.PlayerInventoryIndex;
 import xreliquary.util.XRFakePlayerFactory;
 
 import javax.annotation.Nonnull;
@@ -169,11 +171,18 @@ public class ItemHarvestRod extends ItemToggleable {
 	}
 
 	private void consumePlantables(@Nonnull ItemStack harvestRod, EntityPlayer player) {
-		for(int slot = 0; slot < player.inventory.mainInventory.size(); slot++) {
-			ItemStack currentStack = player.inventory.mainInventory.get(slot);
-			if(currentStack.getItem() instanceof IPlantable && incrementPlantable(harvestRod, currentStack, player)) {
-				InventoryHelper.consumeItem(currentStack, player, 0, 1);
-				break;
+		PlayerInventoryIndex inventoryIndex = PlayerInventoryIndex.get(player);
+		for(Item item : inventoryIndex.getItems()) {
+			if(!(item instanceof IPlantable))
+				continue;
+
+			IntList slots = inventoryIndex.getSlots(item);
+			for(int i = 0; i < slots.size(); i++) {
+				ItemStack currentStack = player.inventory.mainInventory.get(slots.getInt(i));
+				if(currentStack.getItem() == item && incrementPlantable(harvestRod, currentStack, player)) {
+					InventoryHelper.consumeItem(currentStack, player, 0, 1);
+					return;
+				}
 			}
 		}
 	}
@@ -564,22 +573,9 @@ public class ItemHarvestRod extends ItemToggleable {
 	private void fillQueueToHoe(World world, IHarvestRodCache cache, BlockPos pos, int range) {
 		cache.setStartBlockPos(pos);
 		cache.clearBlockQueue();
-		for(int x = pos.getX() - range; x <= pos.getX() + range; x++) {
-			for(int y = pos.getY() - range; y <= pos.getY() + range; y++) {
-				for(int z = pos.getZ() - range; z <= pos.getZ() + range; z++) {
-					BlockPos currentPos = new BlockPos(x, y, z);
-					IBlockState blockState = world.getBlockState(currentPos);
-					Block block = blockState.getBlock();
-
-					if(world.isAirBlock(currentPos.up())) {
-						if(block == Blocks.GRASS || (block == Blocks.DIRT && (blockState.getValue(BlockDirt.VARIANT) == BlockDirt.DirtType.DIRT || blockState.getValue(BlockDirt.VARIANT) == BlockDirt.DirtType.COARSE_DIRT))) {
-							cache.addBlockToQueue(currentPos);
-						}
-					}
-				}
-			}
+		for(BlockPos blockToHoe : HarvestRodAreaCache.getBlocksToHoe(world, pos, range)) {
+			cache.addBlockToQueue(blockToHoe);
 		}
-
 	}
 
 	private BlockPos getNextBlockToPlantOn(World world, IHarvestRodCache cache, BlockPos pos, int range, IPlantable plantable) {
@@ -593,26 +589,12 @@ public class ItemHarvestRod extends ItemToggleable {
 		cache.setStartBlockPos(pos);
 		cache.clearBlockQueue();
 
-		boolean checkerboard = false;
-		boolean bothOddOrEven = false;
-
-		if(plantable == Items.PUMPKIN_SEEDS || plantable == Items.MELON_SEEDS) {
-			checkerboard = true;
-			boolean xEven = pos.getX() % 2 == 0;
-			boolean zEven = pos.getZ() % 2 == 0;
-			bothOddOrEven = xEven == zEven;
-		}
+		boolean checkerboard = plantable == Items.PUMPKIN_SEEDS || plantable == Items.MELON_SEEDS;
+		boolean bothOddOrEven = (pos.getX() % 2 == 0) == (pos.getZ() % 2 == 0);
 
-		for(int x = pos.getX() - range; x <= pos.getX() + range; x++) {
-			for(int y = pos.getY() - range; y <= pos.getY() + range; y++) {
-				for(int z = pos.getZ() - range; z <= pos.getZ() + range; z++) {
-					BlockPos currentPos = new BlockPos(x, y, z);
-					IBlockState blockState = world.getBlockState(currentPos);
-					if((!checkerboard || (bothOddOrEven == ((currentPos.getX() % 2 == 0) == (currentPos.getZ() % 2 == 0)))) && blockState.getBlock().canSustainPlant(blockState, world, pos, EnumFacing.UP, plantable) && world.isAirBlock(currentPos.up())) {
-						cache.addBlockToQueue(currentPos);
-					}
-				}
-			}
+		for(BlockPos blockToPlantOn : HarvestRodAreaCache.getBlocksToPlantOn(world, pos, range, plantable)) {
+			if(!checkerboard || (bothOddOrEven == ((blockToPlantOn.getX() % 2 == 0) == (blockToPlantOn.getZ() % 2 == 0))))
+				cache.addBlockToQueue(blockToPlantOn);
 		}
 	}
 
@@ -641,16 +623,8 @@ public class ItemHarvestRod extends ItemToggleable {
 	private void fillQueueToBoneMeal(World world, IHarvestRodCache cache, BlockPos pos, int range) {
 		cache.setStartBlockPos(pos);
 		cache.clearBlockQueue();
-		for(int x = pos.getX() - range; x <= pos.getX() + range; x++) {
-			for(int y = pos.getY() - range; y <= pos.getY() + range; y++) {
-				for(int z = pos.getZ() - range; z <= pos.getZ() + range; z++) {
-					BlockPos currentPos = new BlockPos(x, y, z);
-					IBlockState blockState = world.getBlockState(currentPos);
-					if(blockState.getBlock() instanceof IGrowable && ((IGrowable) blockState.getBlock()).canGrow(world, currentPos, blockState, world.isRemote)) {
-						cache.addBlockToQueue(currentPos);
-					}
-				}
-			}
+		for(BlockPos blockToBoneMeal : HarvestRodAreaCache.getBlocksToBoneMeal(world, pos, range)) {
+			cache.addBlockToQueue(blockToBoneMeal);
 		}
 	}
 
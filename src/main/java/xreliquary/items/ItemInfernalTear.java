@@ -19,6 +19,7 @@ import xreliquary.crafting.factories.AlkahestryCraftingRecipeFactory.AlkahestryC
 import xreliquary.init.XRRecipes;
 import xreliquary.reference.Names;
 import xreliquary.reference.Settings;
+import xreliquary.util.InventoryCensus;
 import xreliquary.util.InventoryHelper;
 import xreliquary.util.LanguageHelper;
 import xreliquary.util.NBTHelper;
@@ -170,30 +171,13 @@ public class ItemInfernalTear extends ItemToggleable {
 
 	@Nonnull
 	private ItemStack getTargetAlkahestItem(@Nonnull ItemStack self, IInventory inventory) {
-		ItemStack targetItem = ItemStack.EMPTY;
-		int itemQuantity = 0;
-		for(int slot = 0; slot < inventory.getSizeInventory(); slot++) {
-			ItemStack stack = inventory.getStackInSlot(slot);
-			if(stack.isEmpty()) {
-				continue;
-			}
-			if(self.isItemEqual(stack)) {
-				continue;
-			}
-			if(stack.getMaxStackSize() == 1) {
-				continue;
-			}
-			if(stack.getTagCompound() != null) {
-				continue;
-			}
+		ItemStack targetItem = InventoryCensus.of(inventory).getLargest(stack -> {
+			if(self.isItemEqual(stack) || stack.getMaxStackSize() == 1 || stack.getTagCompound() != null)
+				return false;
+
 			AlkahestryCraftingRecipe recipe = matchAlkahestryRecipe(stack);
-			if(recipe == null || (recipe.getRecipeOutput().getCount() == 33 && recipe.getChargeNeeded() == 4))
-				continue;
-			if(InventoryHelper.getItemQuantity(stack, inventory) > itemQuantity) {
-				itemQuantity = InventoryHelper.getItemQuantity(stack, inventory);
-				targetItem = stack.copy();
-			}
-		}
+			return recipe != null && !(recipe.getRecipeOutput().getCount() == 33 && recipe.getChargeNeeded() == 4);
+		}).copy();
 		inventory.markDirty();
 		return targetItem;
 	}
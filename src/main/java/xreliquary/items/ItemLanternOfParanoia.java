@@ -24,6 +24,7 @@ import xreliquary.init.ModItems;
 import xreliquary.reference.Names;
 import xreliquary.reference.Settings;
 import xreliquary.util.InventoryHelper;
+import xreliquary.util.RegionHelper;
 
 import javax.annotation.Nonnull;
 import java.util.List;
@@ -63,23 +64,16 @@ public class ItemLanternOfParanoia extends ItemToggleable {
 			int playerY = MathHelper.floor(player.getEntityBoundingBox().minY);
 			int playerZ = MathHelper.floor(player.posZ);
 
-			placement:
-			for(int xDiff = -getRange(); xDiff <= getRange(); xDiff++) {
-				for(int zDiff = -getRange(); zDiff <= getRange(); zDiff++) {
-					for(int yDiff = getRange() / 2; yDiff >= -getRange() / 2; yDiff--) {
-						int x = playerX + xDiff;
-						int y = playerY + yDiff;
-						int z = playerZ + zDiff;
-						if(!player.world.isAirBlock(new BlockPos(x, y, z)))
-							continue;
-						int lightLevel = player.world.getLightFromNeighbors(new BlockPos(x, y, z));
-						if(lightLevel > Settings.Items.LanternOfParanoia.minLightLevel)
-							continue;
-						if(tryToPlaceTorchAround(stack, x, y, z, player, world))
-							break placement;
-					}
-				}
-			}
+			int range = getRange();
+			//columns are searched from the top so that torches get placed at the highest dark spot
+			RegionHelper.forEachBlockTopDown(world, playerX - range, playerY - range / 2, playerZ - range, playerX + range, playerY + range / 2, playerZ + range, (pos, blockState) -> {
+				if(!blockState.getBlock().isAir(blockState, world, pos))
+					return true;
+				int lightLevel = world.getLightFromNeighbors(pos);
+				if(lightLevel > Settings.Items.LanternOfParanoia.minLightLevel)
+					return true;
+				return !tryToPlaceTorchAround(stack, pos.getX(), pos.getY(), pos.getZ(), player, world);
+			});
 		}
 	}
 
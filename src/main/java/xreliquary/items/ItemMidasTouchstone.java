@@ -14,14 +14,13 @@ import net.minecraft.util.text.TextFormatting;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
-import org.apache.commons.lang3.ArrayUtils;
 import xreliquary.Reliquary;
+import xreliquary.reference.CompiledSettings;
 import xreliquary.reference.Names;
 import xreliquary.reference.Settings;
 import xreliquary.util.InventoryHelper;
 import xreliquary.util.LanguageHelper;
 import xreliquary.util.NBTHelper;
-import xreliquary.util.RegistryHelper;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -76,15 +75,12 @@ public class ItemMidasTouchstone extends ItemToggleable {
 	}
 
 	private void doRepairAndDamageTouchstone(ItemStack ist, EntityPlayer player) {
-		//list of customizable items added through configs that can be repaired by the touchstone.
-		String[] goldItems = Settings.Items.MidasTouchstone.goldItems;
-
 		for(int slot = 0; slot < player.inventory.armorInventory.size(); slot++) {
 			ItemStack armorStack = player.inventory.armorInventory.get(slot);
 			if(armorStack.isEmpty() || !(armorStack.getItem() instanceof ItemArmor))
 				continue;
 			ItemArmor armor = (ItemArmor) armorStack.getItem();
-			if(armor.getArmorMaterial() != ItemArmor.ArmorMaterial.GOLD && !ArrayUtils.contains(goldItems, RegistryHelper.getItemRegistryName(armor))) {
+			if(armor.getArmorMaterial() != ItemArmor.ArmorMaterial.GOLD && !CompiledSettings.isGoldItem(armor)) {
 				continue;
 			}
 			if(armorStack.getItemDamage() <= 0) {
@@ -100,7 +96,7 @@ public class ItemMidasTouchstone extends ItemToggleable {
 
 			if(item instanceof ItemSword) {
 				ItemSword sword = (ItemSword) item;
-				if(!ItemSword.ToolMaterial.GOLD.name().equals(sword.getToolMaterialName()) && !ArrayUtils.contains(goldItems, RegistryHelper.getItemRegistryName(sword))) {
+				if(!ItemSword.ToolMaterial.GOLD.name().equals(sword.getToolMaterialName()) && !CompiledSettings.isGoldItem(sword)) {
 					continue;
 				}
 				if(stack.getItemDamage() <= 0) {
@@ -111,7 +107,7 @@ public class ItemMidasTouchstone extends ItemToggleable {
 				}
 			} else if(item instanceof ItemTool) {
 				ItemTool tool = (ItemTool) item;
-				if(!ItemSword.ToolMaterial.GOLD.name().equals(tool.getToolMaterialName()) && !ArrayUtils.contains(goldItems, RegistryHelper.getItemRegistryName(tool))) {
+				if(!ItemSword.ToolMaterial.GOLD.name().equals(tool.getToolMaterialName()) && !CompiledSettings.isGoldItem(tool)) {
 					continue;
 				}
 				if(stack.getItemDamage() <= 0) {
@@ -121,7 +117,7 @@ public class ItemMidasTouchstone extends ItemToggleable {
 					stack.setItemDamage(stack.getItemDamage() - 1);
 				}
 			} else {
-				if(!ArrayUtils.contains(goldItems, RegistryHelper.getItemRegistryName(item))) {
+				if(!CompiledSettings.isGoldItem(item)) {
 					continue;
 				}
 				if(stack.getItemDamage() <= 0 || !item.isDamageable()) {
@@ -2,27 +2,11 @@ package xreliquary.items;
 
 import baubles.api.BaublesApi;
 import baubles.api.cap.IBaublesItemHandler;
-import net.minecraft.block.state.IBlockState;
 import net.minecraft.creativetab.CreativeTabs;
 import net.minecraft.enchantment.Enchantment;
 import net.minecraft.enchantment.EnumEnchantmentType;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
-import net.minecraft.entity.monster.EntityBlaze;
-import net.minecraft.entity.monster.EntityCaveSpider;
-import net.minecraft.entity.monster.EntityCreeper;
-import net.minecraft.entity.monster.EntityEnderman;
-import net.minecraft.entity.monster.EntityGhast;
-import net.minecraft.entity.monster.EntityGuardian;
-import net.minecraft.entity.monster.EntityMagmaCube;
-import net.minecraft.entity.monster.EntityPigZombie;
-import net.minecraft.entity.monster.EntitySkeleton;
-import net.minecraft.entity.monster.EntitySlime;
-import net.minecraft.entity.monster.EntitySpider;
-import net.minecraft.entity.monster.EntityStray;
-import net.minecraft.entity.monster.EntityWitch;
-import net.minecraft.entity.monster.EntityWitherSkeleton;
-import net.minecraft.entity.monster.EntityZombie;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
@@ -39,9 +23,10 @@ import net.minecraftforge.event.entity.living.LivingSetAttackTargetEvent;
 import net.minecraftforge.fml.common.Loader;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import xreliquary.Reliquary;
-import xreliquary.blocks.BlockPedestal;
 import xreliquary.blocks.tile.TileEntityPedestal;
 import xreliquary.init.ModItems;
+import xreliquary.items.util.MobCharmEntityTypes;
+import xreliquary.items.util.MobCharmProtectionCache;
 import xreliquary.network.PacketHandler;
 import xreliquary.network.PacketMobCharmDamage;
 import xreliquary.pedestal.PedestalRegistry;
@@ -56,6 +41,9 @@ import java.util.List;
 
 public class ItemMobCharm extends ItemBase {
 	private static final String TYPE_TAG = "type";
+	//mobs of these types get their player target checked every update on top of when they target the player
+	private static final long LIVING_UPDATE_TYPES = 1L << Reference.MOB_CHARM.GHAST_META | 1L << Reference.MOB_CHARM.MAGMA_CUBE_META
+			| 1L << Reference.MOB_CHARM.SLIME_META | 1L << Reference.MOB_CHARM.ENDERMAN_META | 1L << Reference.MOB_CHARM.ZOMBIE_PIGMAN_META;
 
 	public ItemMobCharm() {
 		super(Names.Items.MOB_CHARM);
@@ -116,40 +104,6 @@ public class ItemMobCharm extends ItemBase {
 		return mobCharm;
 	}
 
-	private byte getMobCharmTypeForEntity(Entity entity) {
-		if(entity instanceof EntityGhast) {
-			return Reference.MOB_CHARM.GHAST_META;
-		} else if(entity instanceof EntityMagmaCube) {
-			return Reference.MOB_CHARM.MAGMA_CUBE_META;
-		} else if(entity instanceof EntitySlime) {
-			return Reference.MOB_CHARM.SLIME_META;
-		} else if(entity instanceof EntityPigZombie) {
-			return Reference.MOB_CHARM.ZOMBIE_PIGMAN_META;
-		} else if(entity instanceof EntityZombie) {
-			return Reference.MOB_CHARM.ZOMBIE_META;
-		} else if(entity instanceof EntitySkeleton || entity instanceof EntityStray) {
-			return Reference.MOB_CHARM.SKELETON_META;
-		} else if(entity instanceof EntityWitherSkeleton) {
-			return Reference.MOB_CHARM.WITHER_SKELETON_META;
-		} else if(entity instanceof EntityCreeper) {
-			return Reference.MOB_CHARM.CREEPER_META;
-		} else if(entity instanceof EntityWitch) {
-			return Reference.MOB_CHARM.WITCH_META;
-		} else if(entity instanceof EntityCaveSpider) {
-			return Reference.MOB_CHARM.CAVE_SPIDER_META;
-		} else if(entity instanceof EntitySpider) {
-			return Reference.MOB_CHARM.SPIDER_META;
-		} else if(entity instanceof EntityEnderman) {
-			return Reference.MOB_CHARM.ENDERMAN_META;
-		} else if(entity instanceof EntityBlaze) {
-			return Reference.MOB_CHARM.BLAZE_META;
-		} else if(entity instanceof EntityGuardian) {
-			return Reference.MOB_CHARM.GUARDIAN_META;
-		}
-
-		return -1;
-	}
-
 	@SubscribeEvent
 	public void onEntityTargetedEvent(LivingSetAttackTargetEvent event) {
 		if(event.getTarget() == null)
@@ -160,38 +114,11 @@ public class ItemMobCharm extends ItemBase {
 			return;
 
 		EntityPlayer player = (EntityPlayer) event.getTarget();
-		boolean resetTarget = false;
 		EntityLiving entity = (EntityLiving) event.getEntity();
+		byte type = MobCharmEntityTypes.getType(entity);
 
-		if(entity instanceof EntityZombie && !(entity instanceof EntityPigZombie)) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.ZOMBIE_META);
-		} else if(entity instanceof EntityWitherSkeleton) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.WITHER_SKELETON_META);
-		} else if(entity instanceof EntitySkeleton || entity instanceof EntityStray) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.SKELETON_META);
-		} else if(entity instanceof EntityCreeper) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.CREEPER_META);
-		} else if(entity instanceof EntityWitch) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.WITCH_META);
-		} else if(entity instanceof EntityCaveSpider) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.CAVE_SPIDER_META);
-		} else if(entity instanceof EntitySpider) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.SPIDER_META);
-		} else if(entity instanceof EntityEnderman) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.ENDERMAN_META);
-		} else if(entity instanceof EntityBlaze) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.BLAZE_META);
-		} else if(entity instanceof EntityGhast) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.GHAST_META);
-		} else if(entity instanceof EntityMagmaCube) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.MAGMA_CUBE_META);
-		} else if(entity instanceof EntitySlime) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.SLIME_META);
-		} else if(entity instanceof EntityGuardian) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.GUARDIAN_META);
-		}
-
-		if(resetTarget) {
+		//zombie pigmen only get their target reset in living update
+		if(type != -1 && type != Reference.MOB_CHARM.ZOMBIE_PIGMAN_META && isMobCharmPresent(player, type)) {
 			MobHelper.resetTarget(entity);
 		}
 	}
@@ -202,25 +129,14 @@ public class ItemMobCharm extends ItemBase {
 			return;
 		EntityLiving entity = (EntityLiving) event.getEntity();
 
-		if(entity.getAttackTarget() == null || !(entity.getAttackTarget() instanceof EntityPlayer) || entity.getAttackTarget() instanceof FakePlayer)
+		byte type = MobCharmEntityTypes.getType(entity);
+		if(type == -1 || (LIVING_UPDATE_TYPES & (1L << type)) == 0)
 			return;
 
-		EntityPlayer player = (EntityPlayer) entity.getAttackTarget();
-		boolean resetTarget = false;
-
-		if(entity instanceof EntityGhast) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.GHAST_META);
-		} else if(entity instanceof EntityMagmaCube) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.MAGMA_CUBE_META);
-		} else if(entity instanceof EntitySlime) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.SLIME_META);
-		} else if(entity instanceof EntityEnderman) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.ENDERMAN_META);
-		} else if(entity instanceof EntityPigZombie) {
-			resetTarget = isMobCharmPresent(player, Reference.MOB_CHARM.ZOMBIE_PIGMAN_META);
-		}
+		if(entity.getAttackTarget() == null || !(entity.getAttackTarget() instanceof EntityPlayer) || entity.getAttackTarget() instanceof FakePlayer)
+			return;
 
-		if(resetTarget) {
+		if(isMobCharmPresent((EntityPlayer) entity.getAttackTarget(), type)) {
 			MobHelper.resetTarget(entity, true);
 		}
 	}
@@ -238,16 +154,15 @@ public class ItemMobCharm extends ItemBase {
 
 	private void damageMobCharmInPedestal(EntityPlayer player, Entity entity) {
 		List<BlockPos> pedestalPositions = PedestalRegistry.getPositionsInRange(player.dimension, player.getPosition(), Settings.Items.MobCharm.pedestalRange);
-		byte mobCharmType = getMobCharmTypeForEntity(entity);
+		byte mobCharmType = MobCharmEntityTypes.getType(entity);
 		World world = player.getEntityWorld();
 
 		for(BlockPos pos : pedestalPositions) {
 			TileEntity te = world.getTileEntity(pos);
 
 			if (te instanceof TileEntityPedestal) {
-				IBlockState blockState = world.getBlockState(pos);
 				TileEntityPedestal pedestal = (TileEntityPedestal) te;
-				if (blockState.getValue(BlockPedestal.ENABLED)) { //TODO this needs a field / method in TEPedestal instead of having to load blockstate
+				if (pedestal.isEnabled()) {
 					for(int slot = 0; slot < pedestal.getSizeInventory(); slot++) {
 						ItemStack slotStack = pedestal.getStackInSlot(slot);
 						if(slotStack.getItem() == this && getType(slotStack) == mobCharmType) {
@@ -274,7 +189,7 @@ public class ItemMobCharm extends ItemBase {
 		if(player.capabilities.isCreativeMode)
 			return true;
 
-		byte mobCharmType = getMobCharmTypeForEntity(entity);
+		byte mobCharmType = MobCharmEntityTypes.getType(entity);
 
 		for(int slot = 0; slot < player.inventory.mainInventory.size(); slot++) {
 			ItemStack stack = player.inventory.mainInventory.get(slot);
@@ -325,55 +240,6 @@ public class ItemMobCharm extends ItemBase {
 	}
 
 	private boolean isMobCharmPresent(EntityPlayer player, byte type) {
-		return playerHasMobCharm(player, type) || pedestalWithCharmInRange(player, type);
-	}
-
-	private boolean playerHasMobCharm(EntityPlayer player, byte type) {
-
-		for(ItemStack slotStack : player.inventory.mainInventory) {
-			if(slotStack.isEmpty())
-				continue;
-			if(slotStack.getItem() == this && getType(slotStack) == type)
-				return true;
-			if(slotStack.getItem() == ModItems.mobCharmBelt && ModItems.mobCharmBelt.hasCharmType(slotStack, type))
-				return true;
-		}
-
-		if(Loader.isModLoaded(Compatibility.MOD_ID.BAUBLES)) {
-			IBaublesItemHandler inventoryBaubles = BaublesApi.getBaublesHandler(player);
-
-			for(int i = 0; i < inventoryBaubles.getSlots(); i++) {
-				ItemStack baubleStack = inventoryBaubles.getStackInSlot(i);
-				if(!baubleStack.isEmpty() && baubleStack.getItem() == ModItems.mobCharmBelt && ModItems.mobCharmBelt.hasCharmType(baubleStack, type))
-					return true;
-			}
-		}
-
-		return false;
-	}
-
-	private boolean pedestalWithCharmInRange(EntityPlayer player, byte type) {
-		List<BlockPos> pedestalPositions = PedestalRegistry.getPositionsInRange(player.dimension, player.getPosition(), Settings.Items.MobCharm.pedestalRange);
-
-		World world = player.getEntityWorld();
-		for(BlockPos pos : pedestalPositions) {
-			TileEntity te = world.getTileEntity(pos);
-
-			if (te instanceof TileEntityPedestal) {
-				IBlockState blockState = world.getBlockState(pos);
-				TileEntityPedestal pedestal = (TileEntityPedestal) te;
-				if (blockState.getValue(BlockPedestal.ENABLED)) { //TODO this needs a field / method in TEPedestal instead of having to load blockstate
-					for(int slot = 0; slot < pedestal.getSizeInventory(); slot++) {
-						ItemStack slotStack = pedestal.getStackInSlot(slot);
-						if(slotStack.getItem() == this && getType(slotStack) == type)
-							return true;
-						if(slotStack.getItem() == ModItems.mobCharmBelt && ModItems.mobCharmBelt.hasCharmType(slotStack, type))
-							return true;
-					}
-				}
-			}
-		}
-
-		return false;
+		return MobCharmProtectionCache.isProtected(player, type);
 	}
 }
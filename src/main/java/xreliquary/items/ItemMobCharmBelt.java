@@ -15,6 +15,7 @@ import net.minecraftforge.fml.common.Optional;
 import xreliquary.Reliquary;
 import xreliquary.common.gui.GUIHandler;
 import xreliquary.init.ModItems;
+import xreliquary.items.util.MobCharmProtectionCache;
 import xreliquary.reference.Compatibility;
 import xreliquary.reference.Names;
 import xreliquary.reference.Settings;
@@ -119,6 +120,7 @@ public class ItemMobCharmBelt extends ItemBase implements IBauble {
 		}
 		nbt.setTag(SLOTS_TAG, mobCharms);
 		belt.setTagCompound(nbt);
+		MobCharmProtectionCache.onBeltChanged();
 	}
 
 	public void removeMobCharmInSlot(ItemStack belt, int slotIndex) {
@@ -133,6 +135,7 @@ public class ItemMobCharmBelt extends ItemBase implements IBauble {
 			return;
 
 		mobCharms.removeTag(slotIndex);
+		MobCharmProtectionCache.onBeltChanged();
 	}
 
 	public int getCharmCount(ItemStack belt) {
@@ -146,26 +149,32 @@ public class ItemMobCharmBelt extends ItemBase implements IBauble {
 		return mobCharms.tagCount();
 	}
 
-	boolean hasCharmType(ItemStack belt, byte type) {
+	/**
+	 * Returns mask with bits set for all charm types in the belt.
+	 */
+	public long getCharmTypeMask(ItemStack belt) {
 		NBTTagCompound nbt = belt.getTagCompound();
 
 		if(nbt == null || !nbt.hasKey(SLOTS_TAG))
-			return false;
+			return 0;
 
 		NBTTagList mobCharms = nbt.getTagList(SLOTS_TAG, 10);
 
+		long mask = 0;
 		for(int i = mobCharms.tagCount() - 1; i >= 0; i--) {
 			NBTTagCompound mobCharmNbt = (NBTTagCompound) mobCharms.get(i);
 
 			if(!mobCharmNbt.hasKey(TYPE_TAG) || !mobCharmNbt.hasKey(DAMAGE_TAG)) {
 				removeMobCharmInSlot(belt, i);
+				continue;
 			}
 
-			if(mobCharmNbt.getByte(TYPE_TAG) == type)
-				return true;
+			byte type = mobCharmNbt.getByte(TYPE_TAG);
+			if(type >= 0 && type < 64)
+				mask |= 1L << type;
 		}
 
-		return false;
+		return mask;
 	}
 
 	int damageCharmType(ItemStack belt, byte type) {
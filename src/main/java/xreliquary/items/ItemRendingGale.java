@@ -3,7 +3,6 @@ package xreliquary.items;
 import com.google.common.collect.ImmutableMap;
 import net.minecraft.block.Block;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.EntityList;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.IProjectile;
@@ -30,10 +29,10 @@ import net.minecraft.world.World;
 import net.minecraftforge.common.capabilities.ICapabilityProvider;
 import net.minecraftforge.items.CapabilityItemHandler;
 import net.minecraftforge.items.IItemHandler;
-import org.apache.commons.lang3.ArrayUtils;
 import xreliquary.Reliquary;
 import xreliquary.items.util.FilteredItemHandlerProvider;
 import xreliquary.items.util.FilteredItemStackHandler;
+import xreliquary.reference.CompiledSettings;
 import xreliquary.reference.Names;
 import xreliquary.reference.Settings;
 import xreliquary.util.InventoryHelper;
@@ -368,20 +367,15 @@ public class ItemRendingGale extends ItemToggleable {
 	}
 
 	private boolean isBlacklistedEntity(Entity entity) {
-		if (EntityList.getKey(entity) == null) {
-			return false;
-		}
-
-		String entityName = EntityList.getKey(entity).toString();
-		return isBlacklistedLivingEntity(entity, entityName) || Settings.Items.RendingGale.canPushProjectiles && isBlacklistedProjectile(entity, entityName);
+		return isBlacklistedLivingEntity(entity) || Settings.Items.RendingGale.canPushProjectiles && isBlacklistedProjectile(entity);
 	}
 
-	private boolean isBlacklistedProjectile(Entity entity, String entityName) {
-		return entity instanceof IProjectile && ArrayUtils.contains(Settings.Items.RendingGale.pushableProjectilesBlacklist, entityName);
+	private boolean isBlacklistedProjectile(Entity entity) {
+		return entity instanceof IProjectile && CompiledSettings.isRendingGaleProjectileBlacklisted(entity);
 	}
 
-	private boolean isBlacklistedLivingEntity(Entity entity, String entityName) {
-		return entity instanceof EntityLiving && ArrayUtils.contains(Settings.Items.RendingGale.pushableEntitiesBlacklist, entityName);
+	private boolean isBlacklistedLivingEntity(Entity entity) {
+		return entity instanceof EntityLiving && CompiledSettings.isRendingGaleEntityBlacklisted(entity);
 	}
 
 	private float getDistanceToEntity(double posX, double posY, double posZ, Entity entityIn) {
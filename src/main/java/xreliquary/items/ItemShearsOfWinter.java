@@ -33,6 +33,7 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 import xreliquary.Reliquary;
 import xreliquary.reference.Names;
 import xreliquary.util.LanguageHelper;
+import xreliquary.util.RegionHelper;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -104,10 +105,7 @@ public class ItemShearsOfWinter extends ItemShears {
 			return;
 
 		doEntityShearableCheck(ist, player, lookVector);
-		if(lookVector.x > 0)
-			doPositiveXCheck(ist, player, lookVector);
-		else
-			doNegativeXCheck(ist, player, lookVector);
+		doBlockShearableCheck(ist, player, lookVector);
 
 	}
 
@@ -124,161 +122,65 @@ public class ItemShearsOfWinter extends ItemShears {
 		return LanguageHelper.getLocalization(this.getUnlocalizedNameInefficiently(stack) + ".name");
 	}
 
-	private void doPositiveXCheck(ItemStack ist, EntityPlayer player, Vec3d lookVector) {
-		boolean firedOnce = false;
+	private void doBlockShearableCheck(ItemStack ist, EntityPlayer player, Vec3d lookVector) {
+		int x = (int) player.posX;
+		int y = (int) (player.posY + player.getEyeHeight());
+		int z = (int) player.posZ;
 
-		for(int x = 0; x < (int) (lookVector.x * 10D); x++) {
-			firedOnce = true;
-			if(lookVector.y > 0)
-				doPositiveYCheck(ist, player, lookVector, x);
-			else
-				doNegativeYCheck(ist, player, lookVector, x);
-		}
+		List<BlockPos> blocksToShear = RegionHelper.findBlocks(player.world,
+				x + getMinOffset(lookVector.x), y + getMinOffset(lookVector.y), z + getMinOffset(lookVector.z),
+				x + getMaxOffset(lookVector.x), y + getMaxOffset(lookVector.y), z + getMaxOffset(lookVector.z),
+				(pos, blockState) -> {
+					int distance = (int) player.getDistance((double) pos.getX(), (double) pos.getY(), (double) pos.getZ());
+					int probabilityFactor = 5 + distance;
+					//chance of block break diminishes over distance
+					return player.world.rand.nextInt(probabilityFactor) == 0 && blockState.getBlock() instanceof IShearable
+							&& ((IShearable) blockState.getBlock()).isShearable(new ItemStack(Items.SHEARS, 1, 0), player.world, pos);
+				});
 
-		if(!firedOnce) {
-			for(int x = -2; x <= 2; x++) {
-				if(lookVector.y > 0)
-					doPositiveYCheck(ist, player, lookVector, x);
-				else
-					doNegativeYCheck(ist, player, lookVector, x);
-			}
+		for(BlockPos pos : blocksToShear) {
+			shearBlockAt(pos, player, ist);
 		}
 	}
 
-	private void doNegativeXCheck(ItemStack ist, EntityPlayer player, Vec3d lookVector) {
-		boolean firedOnce = false;
-
-		for(int x = 0; x > (int) (lookVector.x * 10D); x--) {
-			firedOnce = true;
-			if(lookVector.y > 0)
-				doPositiveYCheck(ist, player, lookVector, x);
-			else
-				doNegativeYCheck(ist, player, lookVector, x);
-		}
-
-		if(!firedOnce) {
-			for(int x = -2; x <= 2; x++) {
-				if(lookVector.y > 0)
-					doPositiveYCheck(ist, player, lookVector, x);
-				else
-					doNegativeYCheck(ist, player, lookVector, x);
-			}
-		}
+	//the blizzard reaches 10 blocks in the direction player is looking at, if it's looking mostly perpendicular to an axis it spreads 2 blocks to each side on that axis instead
+	private int getMinOffset(double lookComponent) {
+		int reach = (int) (lookComponent * 10D);
+		if(lookComponent > 0)
+			return reach > 0 ? 0 : -2;
+		return reach < 0 ? reach + 1 : -2;
 	}
 
-	private void doPositiveYCheck(ItemStack ist, EntityPlayer player, Vec3d lookVector, int x) {
-		boolean firedOnce = false;
-
-		for(int y = 0; y < (int) (lookVector.y * 10D); y++) {
-			firedOnce = true;
-			if(lookVector.z > 0)
-				doPositiveZCheck(ist, player, lookVector, x, y);
-			else
-				doNegativeZCheck(ist, player, lookVector, x, y);
-		}
-
-		if(!firedOnce) {
-			for(int y = -2; y <= 2; y++) {
-				if(lookVector.z > 0)
-					doPositiveZCheck(ist, player, lookVector, x, y);
-				else
-					doNegativeZCheck(ist, player, lookVector, x, y);
-			}
-		}
+	private int getMaxOffset(double lookComponent) {
+		int reach = (int) (lookComponent * 10D);
+		if(lookComponent > 0)
+			return reach > 0 ? reach - 1 : 2;
+		return reach < 0 ? 0 : 2;
 	}
 
-	private void doNegativeYCheck(ItemStack ist, EntityPlayer player, Vec3d lookVector, int x) {
-		boolean firedOnce = false;
-
-		for(int y = 0; y > (int) (lookVector.y * 10D); y--) {
-			firedOnce = true;
-			if(lookVector.z > 0)
-				doPositiveZCheck(ist, player, lookVector, x, y);
-			else
-				doNegativeZCheck(ist, player, lookVector, x, y);
-		}
+	private void shearBlockAt(BlockPos pos, EntityPlayer player, ItemStack ist) {
+		IBlockState blockState = player.world.getBlockState(pos);
+		Block block = blockState.getBlock();
+		IShearable target = (IShearable) block;
+		List<ItemStack> drops = target.onSheared(new ItemStack(Items.SHEARS, 1, 0), player.world, pos, EnchantmentHelper.getEnchantmentLevel(Enchantments.FORTUNE, ist));
+		Random rand = new Random();
 
-		if(!firedOnce) {
-			for(int y = -2; y <= 2; y++) {
-				if(lookVector.z > 0)
-					doPositiveZCheck(ist, player, lookVector, x, y);
-				else
-					doNegativeZCheck(ist, player, lookVector, x, y);
-			}
+		for(ItemStack stack : drops) {
+			float f = 0.7F;
+			double d = (double) (rand.nextFloat() * f) + (double) (1.0F - f) * 0.5D;
+			double d1 = (double) (rand.nextFloat() * f) + (double) (1.0F - f) * 0.5D;
+			double d2 = (double) (rand.nextFloat() * f) + (double) (1.0F - f) * 0.5D;
+			EntityItem entityitem = new EntityItem(player.world, (double) pos.getX() + d, (double) pos.getY() + d1, (double) pos.getZ() + d2, stack);
+			entityitem.setPickupDelay(10);
+			player.world.spawnEntity(entityitem);
 		}
-	}
-
-	private void doPositiveZCheck(ItemStack ist, EntityPlayer player, Vec3d lookVector, int x, int y) {
-		boolean firedOnce = false;
 
-		for(int z = 0; z < (int) (lookVector.z * 10D); z++) {
-			firedOnce = true;
-			checkAndBreakBlockAt(x, y, z, player, ist);
-		}
-
-		if(!firedOnce) {
-			for(int z = -2; z <= 2; z++)
-				checkAndBreakBlockAt(x, y, z, player, ist);
-		}
-	}
-
-	private void doNegativeZCheck(ItemStack ist, EntityPlayer player, Vec3d lookVector, int x, int y) {
-		boolean firedOnce = false;
-
-		for(int z = 0; z > (int) (lookVector.z * 10D); z--) {
-			firedOnce = true;
-			checkAndBreakBlockAt(x, y, z, player, ist);
-		}
-
-		if(!firedOnce) {
-			for(int z = -2; z <= 2; z++)
-				checkAndBreakBlockAt(x, y, z, player, ist);
-		}
-	}
-
-	private void checkAndBreakBlockAt(int x, int y, int z, EntityPlayer player, ItemStack ist) {
-		x += (int) player.posX;
-		y += (int) (player.posY + player.getEyeHeight());
-		z += (int) player.posZ;
-
-		int distance = (int) player.getDistance((double) x, (double) y, (double) z);
-		int probabilityFactor = 5 + distance;
-		//chance of block break diminishes over distance
-		if(player.world.rand.nextInt(probabilityFactor) == 0) {
-			IBlockState blockState = player.world.getBlockState(new BlockPos(x, y, z));
-			Block block = blockState.getBlock();
-			if(block instanceof IShearable) {
-				IShearable target = (IShearable) block;
-				ItemStack dummyShears = new ItemStack(Items.SHEARS, 1, 0);
-				if(target.isShearable(dummyShears, player.world, new BlockPos(x, y, z))) {
-					List<ItemStack> drops = target.onSheared(dummyShears, player.world, new BlockPos(x, y, z), EnchantmentHelper.getEnchantmentLevel(Enchantments.FORTUNE, ist));
-					Random rand = new Random();
-
-					if(player.world.isRemote) {
-						if(blockState.getMaterial() != Material.AIR)
-							player.world.playEvent(player, 2001, new BlockPos(x, y, z), Block.getStateId(player.world.getBlockState(new BlockPos(x, y, z))));
-
-					} else {
-						for(ItemStack stack : drops) {
-							float f = 0.7F;
-							double d = (double) (rand.nextFloat() * f) + (double) (1.0F - f) * 0.5D;
-							double d1 = (double) (rand.nextFloat() * f) + (double) (1.0F - f) * 0.5D;
-							double d2 = (double) (rand.nextFloat() * f) + (double) (1.0F - f) * 0.5D;
-							EntityItem entityitem = new EntityItem(player.world, (double) x + d, (double) y + d1, (double) z + d2, stack);
-							entityitem.setPickupDelay(10);
-							player.world.spawnEntity(entityitem);
-						}
-
-						player.world.setBlockState(new BlockPos(x, y, z), Blocks.AIR.getDefaultState());
-						StatBase stats = StatList.getBlockStats(block);
-						if(stats != null) {
-							player.addStat(stats);
-						}
-						player.addExhaustion(0.01F);
-					}
-				}
-			}
+		player.world.setBlockState(pos, Blocks.AIR.getDefaultState());
+		StatBase stats = StatList.getBlockStats(block);
+		if(stats != null) {
+			player.addStat(stats);
 		}
+		player.addExhaustion(0.01F);
 	}
 
 	private void doEntityShearableCheck(ItemStack ist, EntityPlayer player, Vec3d lookVector) {
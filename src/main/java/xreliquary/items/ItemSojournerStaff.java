@@ -80,7 +80,7 @@ public class ItemSojournerStaff extends ItemToggleable {
 
 	private void scanForMatchingTorchesToFillInternalStorage(ItemStack ist, EntityPlayer player) {
 		for(String torch : Settings.Items.SojournerStaff.torches) {
-			if(!isInternalStorageFullOfItem(ist, torch) && InventoryHelper.consumeItem(is -> is.getItem().getRegistryName() != null && is.getItem().getRegistryName().toString().equals(torch), player)) {
+			if(!isInternalStorageFullOfItem(ist, torch) && InventoryHelper.consumeItem(torch, 0, true, player)) {
 				addItemToInternalStorage(ist, torch);
 			}
 		}
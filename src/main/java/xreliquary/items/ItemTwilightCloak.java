@@ -21,10 +21,10 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import xreliquary.Reliquary;
+import xreliquary.items.util.TwilightCloakHolders;
 import xreliquary.reference.Compatibility;
 import xreliquary.reference.Names;
 import xreliquary.reference.Settings;
-import xreliquary.util.InventoryHelper;
 
 import javax.annotation.Nonnull;
 
@@ -58,6 +58,8 @@ public class ItemTwilightCloak extends ItemToggleable implements IBauble {
 		if(!this.isEnabled(twilightCloak))
 			return;
 
+		TwilightCloakHolders.markCloaked(player);
+
 		//toggled effect, makes player invisible based on light level (configurable)
 		int playerX = MathHelper.floor(player.posX);
 		int playerY = MathHelper.floor(player.getEntityBoundingBox().minY);
@@ -101,13 +103,9 @@ public class ItemTwilightCloak extends ItemToggleable implements IBauble {
 				return;
 			if(!(entityLiving.getAttackTarget() instanceof EntityPlayer))
 				return;
-			EntityPlayer player = (EntityPlayer) entityLiving.getAttackTarget();
-			if(!InventoryHelper.playerHasItem(player, this, true))
+			if(!TwilightCloakHolders.isHiddenFromMobs((EntityPlayer) entityLiving.getAttackTarget()))
 				return;
 
-			//toggled effect, makes player invisible based on light level (configurable)
-			if(player.world.getLightFromNeighbors(player.getPosition()) > Settings.Items.TwilightCloak.maxLightLevel)
-				return;
 			if(event.getEntity() instanceof EntityLiving) {
 				((EntityLiving) event.getEntity()).setAttackTarget(null);
 			}
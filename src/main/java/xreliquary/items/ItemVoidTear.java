@@ -223,7 +223,7 @@ public class ItemVoidTear extends ItemToggleable {
 				ItemStack contents = this.getContainerItem(voidTear);
 
 				if(!contents.isEmpty()) {
-					int itemQuantity = InventoryHelper.getItemQuantity(contents, player.inventory);
+					int itemQuantity = InventoryHelper.getItemQuantity(contents, player);
 
 					if(getItemQuantity(voidTear) <= Settings.Items.VoidTear.itemLimit && itemQuantity > getKeepQuantity(voidTear) && InventoryHelper.consumeItem(contents, player, getKeepQuantity(voidTear), itemQuantity - getKeepQuantity(voidTear))) {
 						//doesn't absorb in creative mode.. this is mostly for testing, it prevents the item from having unlimited *whatever* for eternity.
@@ -1,9 +1,14 @@
 package xreliquary.items.util;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagIntArray;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.NonNullList;
 import net.minecraftforge.common.util.Constants;
@@ -13,9 +18,14 @@ import net.minecraftforge.items.IItemHandlerModifiable;
 import net.minecraftforge.items.ItemHandlerHelper;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 public class FilteredItemStackHandler implements IItemHandler, IItemHandlerModifiable, INBTSerializable<NBTTagCompound> {
 	public static final int SLOTS_PER_TYPE = 2;
+	//version 0 saved input and output stacks, 1 saves just filter stacks and total amounts
+	private static final int NBT_VERSION = 1;
 	//TODO refactor all these collections / arrays to a single collection of classes that encapsulate individual filtered items
 	NonNullList<ItemStack> filterStacks;
 	private int[] totalAmounts;
@@ -25,6 +35,10 @@ public class FilteredItemStackHandler implements IItemHandler, IItemHandlerModif
 
 	private NonNullList<ItemStack> stacks;
 
+	//hash of item, meta and nbt -> parent slots with filter or output stack of that hash, gets rebuilt when it's used after stacks changed
+	private final Int2ObjectMap<IntList> parentSlotIndex = new Int2ObjectOpenHashMap<>();
+	private boolean parentSlotIndexDirty = true;
+
 	protected FilteredItemStackHandler(int initialSlots) {
 		stacks = getDefaultSizedList(initialSlots * SLOTS_PER_TYPE);
 		this.totalAmounts = new int[initialSlots];
@@ -79,6 +93,7 @@ public class FilteredItemStackHandler implements IItemHandler, IItemHandlerModif
 		this.filterStacks.add(stack);
 
 		this.totalAmounts = expandIntArray(this.totalAmounts, 0);
+		parentSlotIndexDirty = true;
 	}
 
 	private int[] expandIntArray(int[] values, int newSize, int def) {
@@ -126,9 +141,13 @@ public class FilteredItemStackHandler implements IItemHandler, IItemHandlerModif
 		this.totalAmounts = removeFromIntArray(this.totalAmounts, parentSlot);
 
 		removeStack(parentSlot);
+		parentSlotIndexDirty = true;
 	}
 
 	public void markDirty() {
+		//stacks could have been changed directly so the index can't be trusted anymore
+		parentSlotIndexDirty = true;
+
 		for(int i = 0; i < totalAmounts.length; i++) {
 			int totalAmount = worthToUnits(totalAmounts[i], i);
 
@@ -190,24 +209,68 @@ public class FilteredItemStackHandler implements IItemHandler, IItemHandlerModif
 		if(totalAmounts[parentSlot] == 0) {
 			removeValidItemStackFromSlot(parentSlot);
 		} else {
-			if(!isInputSlot(slot))
+			if(!isInputSlot(slot)) {
 				this.stacks.set(slot, stack);
+				parentSlotIndexDirty = true;
+			}
 
 			updateInputOutputSlots(parentSlot);
 		}
 	}
 
 	private boolean alreadyExistsInAnotherSlot(ItemStack stack, int parentSlot) {
-		for(int i = 0; i < filterStacks.size(); i++) {
-			if(i != parentSlot) {
-				if(ItemHandlerHelper.canItemStacksStack(stacks.get(getOutputSlot(i)), stack))
-					return true;
-			}
+		IntList candidates = getParentSlotIndex().get(getStackHash(stack));
+		if(candidates == null)
+			return false;
+
+		for(int i = 0; i < candidates.size(); i++) {
+			int candidate = candidates.getInt(i);
+			if(candidate != parentSlot && ItemHandlerHelper.canItemStacksStack(getOutputStack(candidate), stack))
+				return true;
 		}
 
 		return false;
 	}
 
+	private Int2ObjectMap<IntList> getParentSlotIndex() {
+		if(parentSlotIndexDirty) {
+			parentSlotIndex.clear();
+			for(int parentSlot = 0; parentSlot < filterStacks.size(); parentSlot++) {
+				addToParentSlotIndex(filterStacks.get(parentSlot), parentSlot);
+				addToParentSlotIndex(getOutputStack(parentSlot), parentSlot);
+			}
+			parentSlotIndexDirty = false;
+		}
+
+		return parentSlotIndex;
+	}
+
+	private void addToParentSlotIndex(ItemStack stack, int parentSlot) {
+		if(stack.isEmpty())
+			return;
+
+		int hash = getStackHash(stack);
+		IntList parentSlots = parentSlotIndex.get(hash);
+		if(parentSlots == null) {
+			parentSlots = new IntArrayList(1);
+			parentSlotIndex.put(hash, parentSlots);
+		}
+
+		if(!parentSlots.contains(parentSlot))
+			parentSlots.add(parentSlot);
+	}
+
+	//stacks that can stack together always have the same hash, the other way around is checked by the callers
+	private static int getStackHash(ItemStack stack) {
+		int hash = 31 * System.identityHashCode(stack.getItem()) + stack.getItemDamage();
+		return 31 * hash + (stack.hasTagCompound() ? stack.getTagCompound().hashCode() : 0);
+	}
+
+	private ItemStack getOutputStack(int parentSlot) {
+		int outputSlot = getOutputSlot(parentSlot);
+		return outputSlot < stacks.size() ? stacks.get(outputSlot) : ItemStack.EMPTY;
+	}
+
 	@Override
 	public int getSlots() {
 		return stacks.size();
@@ -235,8 +298,10 @@ public class FilteredItemStackHandler implements IItemHandler, IItemHandlerModif
 		int outputSlot = getOutputSlot(parentSlot);
 		int inputSlot = getInputSlot(parentSlot);
 
-		if(stacks.get(outputSlot).isEmpty())
+		if(stacks.get(outputSlot).isEmpty()) {
 			stacks.set(outputSlot, parentSlotStack.copy());
+			parentSlotIndexDirty = true;
+		}
 
 		ItemStack outputStack = stacks.get(outputSlot);
 
@@ -264,6 +329,7 @@ public class FilteredItemStackHandler implements IItemHandler, IItemHandlerModif
 
 	public void setParentSlotStack(int parentSlot, ItemStack filterStack) {
 		filterStacks.set(parentSlot, filterStack.copy());
+		parentSlotIndexDirty = true;
 	}
 
 	protected boolean isItemStackValidForParentSlot(ItemStack stack, int parentSlot) {
@@ -316,6 +382,7 @@ public class FilteredItemStackHandler implements IItemHandler, IItemHandlerModif
 			if(!isInputSlot(slot)) {
 				if(existing.isEmpty()) {
 					this.stacks.set(slot, reachedLimit ? ItemHandlerHelper.copyStackWithSize(stack, limit) : stack);
+					parentSlotIndexDirty = true;
 				} else {
 					existing.grow(reachedLimit ? limit : stack.getCount());
 				}
@@ -326,6 +393,89 @@ public class FilteredItemStackHandler implements IItemHandler, IItemHandlerModif
 		return reachedLimit ? ItemHandlerHelper.copyStackWithSize(stack, stack.getCount() - limit) : ItemStack.EMPTY;
 	}
 
+	/**
+	 * Inserts all the stacks into parent slots that accept them, totals of affected parent slots get updated only once per call.
+	 * Unlike insertItem this isn't limited by the size of input slot, only by total limits of parent slots.
+	 *
+	 * @return stacks or their parts that didn't fit in
+	 */
+	public List<ItemStack> insertItems(Collection<ItemStack> stacksToInsert, boolean simulate) {
+		List<ItemStack> remainders = new ArrayList<>();
+		int[] addedWorth = new int[filterStacks.size()];
+		NonNullList<ItemStack> newFilterStacks = NonNullList.create();
+
+		for(ItemStack stack : stacksToInsert) {
+			if(stack.isEmpty())
+				continue;
+
+			int parentSlot = getParentSlotForInsert(stack, newFilterStacks);
+			if(parentSlot < 0) {
+				remainders.add(stack);
+				continue;
+			}
+
+			if(parentSlot >= addedWorth.length)
+				addedWorth = expandIntArray(addedWorth, parentSlot + 1, 0);
+
+			int remainingUnits = worthToUnits(getParentSlotLimit(parentSlot) - getTotalAmount(parentSlot) - addedWorth[parentSlot], parentSlot);
+			int inserted = Math.max(Math.min(stack.getCount(), remainingUnits), 0);
+
+			if(inserted > 0) {
+				if(parentSlot == filterStacks.size() + newFilterStacks.size())
+					newFilterStacks.add(ItemHandlerHelper.copyStackWithSize(stack, 1));
+
+				addedWorth[parentSlot] += unitsToWorth(inserted, parentSlot);
+			}
+
+			if(inserted < stack.getCount())
+				remainders.add(ItemHandlerHelper.copyStackWithSize(stack, stack.getCount() - inserted));
+		}
+
+		if(!simulate) {
+			for(ItemStack newFilterStack : newFilterStacks) {
+				addValidItemStack(newFilterStack);
+			}
+
+			for(int parentSlot = 0; parentSlot < addedWorth.length; parentSlot++) {
+				if(addedWorth[parentSlot] > 0) {
+					totalAmounts[parentSlot] += addedWorth[parentSlot];
+					updateInputOutputSlots(parentSlot);
+				}
+			}
+		}
+
+		return remainders;
+	}
+
+	private int getParentSlotForInsert(ItemStack stack, NonNullList<ItemStack> newFilterStacks) {
+		IntList candidates = getParentSlotIndex().get(getStackHash(stack));
+		if(candidates != null) {
+			for(int i = 0; i < candidates.size(); i++) {
+				int candidate = candidates.getInt(i);
+				if(isItemStackValidForParentSlot(stack, candidate) && (ItemHandlerHelper.canItemStacksStack(filterStacks.get(candidate), stack)
+						|| ItemHandlerHelper.canItemStacksStack(getOutputStack(candidate), stack)))
+					return candidate;
+			}
+		}
+
+		for(int i = 0; i < newFilterStacks.size(); i++) {
+			if(ItemHandlerHelper.canItemStacksStack(newFilterStacks.get(i), stack))
+				return filterStacks.size() + i;
+		}
+
+		//the item isn't in the handler yet so it can only go to a parent slot that doesn't hold anything or a new one
+		for(int parentSlot = 0; parentSlot < filterStacks.size(); parentSlot++) {
+			if(filterStacks.get(parentSlot).isEmpty() && getOutputStack(parentSlot).isEmpty() && isItemStackValidForParentSlot(stack, parentSlot))
+				return parentSlot;
+		}
+
+		int newParentSlot = filterStacks.size() + newFilterStacks.size();
+		if(dynamicSize && isItemStackValidForParentSlot(stack, newParentSlot))
+			return newParentSlot;
+
+		return -1;
+	}
+
 	@Nonnull
 	public ItemStack getStackInParentSlot(int parentSlot) {
 		if(parentSlot >= filterStacks.size())
@@ -353,6 +503,8 @@ public class FilteredItemStackHandler implements IItemHandler, IItemHandlerModif
 				if(!simulate) {
 					totalAmounts[getParentSlot(slot)] -= numberRemoved;
 					this.stacks.set(slot, ItemHandlerHelper.copyStackWithSize(existing, existing.getCount() - numberRemoved));
+					if(numberRemoved == existing.getCount())
+						parentSlotIndexDirty = true;
 
 					if(totalAmounts[getParentSlot(slot)] == 0 && dynamicSize) {
 						removeValidItemStackFromSlot(getParentSlot(slot));
@@ -368,34 +520,34 @@ public class FilteredItemStackHandler implements IItemHandler, IItemHandlerModif
 
 	@Override
 	public NBTTagCompound serializeNBT() {
-		NBTTagList nbtTagList = new NBTTagList();
-		for(int i = 0; i < stacks.size(); i++) {
-			if(!stacks.get(i).isEmpty()) {
+		//input and output stacks are derived from filter stacks and total amounts so only those get saved
+		NBTTagList filterTagList = new NBTTagList();
+		for(int parentSlot = 0; parentSlot < filterStacks.size(); parentSlot++) {
+			ItemStack filterStack = filterStacks.get(parentSlot).isEmpty() ? getOutputStack(parentSlot) : filterStacks.get(parentSlot);
+			if(!filterStack.isEmpty()) {
 				NBTTagCompound itemTag = new NBTTagCompound();
-				itemTag.setInteger("Slot", i);
-				stacks.get(i).writeToNBT(itemTag);
-				nbtTagList.appendTag(itemTag);
+				itemTag.setInteger("Slot", parentSlot);
+				ItemHandlerHelper.copyStackWithSize(filterStack, 1).writeToNBT(itemTag);
+				filterTagList.appendTag(itemTag);
 			}
 		}
 
 		NBTTagCompound nbt = new NBTTagCompound();
-		nbt.setTag("Items", nbtTagList);
+		nbt.setInteger("Version", NBT_VERSION);
+		nbt.setTag("FilterItems", filterTagList);
 		nbt.setInteger("Size", stacks.size());
-
-		NBTTagList nbtAmountsList = new NBTTagList();
-
-		for(int totalAmount : totalAmounts) {
-			NBTTagInt amountTag = new NBTTagInt(totalAmount);
-			nbtAmountsList.appendTag(amountTag);
-		}
-
-		nbt.setTag("TotalAmounts", nbtAmountsList);
+		nbt.setTag("TotalAmounts", new NBTTagIntArray(totalAmounts.clone()));
 
 		return nbt;
 	}
 
 	@Override
 	public void deserializeNBT(NBTTagCompound nbt) {
+		if(nbt.getInteger("Version") >= NBT_VERSION) {
+			deserializeCompactNBT(nbt);
+			return;
+		}
+
 		int stacksSize = nbt.hasKey("Size", Constants.NBT.TAG_INT) ? nbt.getInteger("Size") : stacks.size();
 		setSize(stacksSize);
 
@@ -406,6 +558,8 @@ public class FilteredItemStackHandler implements IItemHandler, IItemHandlerModif
 			totalAmounts[i] = ((NBTTagInt) amounts.get(i)).getInt();
 		}
 
+		parentSlotIndexDirty = true;
+
 		NBTTagList tagList = nbt.getTagList("Items", Constants.NBT.TAG_COMPOUND);
 		for(int i = 0; i < tagList.tagCount(); i++) {
 			NBTTagCompound itemTags = tagList.getCompoundTagAt(i);
@@ -423,6 +577,35 @@ public class FilteredItemStackHandler implements IItemHandler, IItemHandlerModif
 		}
 	}
 
+	private void deserializeCompactNBT(NBTTagCompound nbt) {
+		int stacksSize = nbt.hasKey("Size", Constants.NBT.TAG_INT) ? nbt.getInteger("Size") : stacks.size();
+		setSize(stacksSize);
+
+		int[] amounts = nbt.getIntArray("TotalAmounts");
+		setFilterStacksSize(amounts.length);
+		System.arraycopy(amounts, 0, totalAmounts, 0, amounts.length);
+
+		NBTTagList filterTagList = nbt.getTagList("FilterItems", Constants.NBT.TAG_COMPOUND);
+		for(int i = 0; i < filterTagList.tagCount(); i++) {
+			NBTTagCompound itemTag = filterTagList.getCompoundTagAt(i);
+			int parentSlot = itemTag.getInteger("Slot");
+
+			if(parentSlot >= 0 && parentSlot < filterStacks.size())
+				filterStacks.set(parentSlot, new ItemStack(itemTag));
+		}
+
+		for(int slot = 0; slot < stacks.size(); slot++) {
+			stacks.set(slot, ItemStack.EMPTY);
+		}
+
+		for(int parentSlot = 0; parentSlot < totalAmounts.length && getOutputSlot(parentSlot) < stacks.size(); parentSlot++) {
+			if(totalAmounts[parentSlot] > 0)
+				updateInputOutputSlots(parentSlot);
+		}
+
+		parentSlotIndexDirty = true;
+	}
+
 	void setDynamicSize(boolean dynamicSize) {
 		if(this.dynamicSize != dynamicSize) {
 			this.dynamicSize = dynamicSize;
@@ -432,6 +615,7 @@ public class FilteredItemStackHandler implements IItemHandler, IItemHandlerModif
 			} else {
 				removeStack(this.filterStacks.size());
 			}
+			parentSlotIndexDirty = true;
 		}
 	}
 
@@ -0,0 +1,142 @@
+package xreliquary.items.util;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import xreliquary.blocks.tile.TileEntityPedestal;
+import xreliquary.init.ModItems;
+import xreliquary.reference.Reference;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Pedestals that are switched on with a disabled fortune coin in them stop fortune coins around from pulling items close to them.
+ * These zones are indexed by the cells of a coarse grid they overlap, so checking whether an item is in one only needs to look
+ * at the few zones in the item's cell. Pedestals update their zone whenever their items or switch change.
+ */
+@Mod.EventBusSubscriber(modid = Reference.MOD_ID)
+public class FortuneCoinDisabledZones {
+	//items less than 5 blocks away from the pedestal in each direction can't be pulled
+	private static final int ZONE_RADIUS = 4;
+	//pedestals further away than this from a coin don't stop it
+	private static final int PEDESTAL_RANGE = 10;
+	private static final int CELL_SHIFT = 3;
+	private static final Int2ObjectMap<DimensionZones> dimensionZones = new Int2ObjectOpenHashMap<>();
+
+	public static void update(TileEntityPedestal pedestal) {
+		World world = pedestal.getWorld();
+		if(world == null || world.isRemote)
+			return;
+
+		ItemStack stack = pedestal.getStackInSlot(0);
+		if(pedestal.switchedOn() && stack.getItem() == ModItems.fortuneCoin && !ModItems.fortuneCoin.isEnabled(stack)) {
+			getDimensionZones(world.provider.getDimension()).add(pedestal.getPos());
+		} else {
+			remove(world, pedestal.getPos());
+		}
+	}
+
+	public static void remove(World world, BlockPos pos) {
+		if(world.isRemote)
+			return;
+
+		DimensionZones zones = dimensionZones.get(world.provider.getDimension());
+		if(zones != null)
+			zones.remove(pos);
+	}
+
+	public static boolean isInDisabledZone(World world, BlockPos coinPos, BlockPos itemPos) {
+		DimensionZones zones = dimensionZones.get(world.provider.getDimension());
+		if(zones == null)
+			return false;
+
+		LongSet cellZones = zones.cells.get(getCellKey(itemPos.getX() >> CELL_SHIFT, itemPos.getY() >> CELL_SHIFT, itemPos.getZ() >> CELL_SHIFT));
+		if(cellZones == null)
+			return false;
+
+		LongIterator iterator = cellZones.iterator();
+		while(iterator.hasNext()) {
+			BlockPos pedestalPos = BlockPos.fromLong(iterator.nextLong());
+			if(isWithin(pedestalPos, itemPos, ZONE_RADIUS) && isWithin(pedestalPos, coinPos, PEDESTAL_RANGE))
+				return true;
+		}
+		return false;
+	}
+
+	private static boolean isWithin(BlockPos a, BlockPos b, int distance) {
+		return Math.abs(a.getX() - b.getX()) <= distance && Math.abs(a.getY() - b.getY()) <= distance && Math.abs(a.getZ() - b.getZ()) <= distance;
+	}
+
+	private static long getCellKey(int cellX, int cellY, int cellZ) {
+		return ((cellX & 0x3FFFFFL) << 42) | ((cellY & 0xFFFFFL) << 22) | (cellZ & 0x3FFFFFL);
+	}
+
+	private static DimensionZones getDimensionZones(int dimensionId) {
+		DimensionZones zones = dimensionZones.get(dimensionId);
+		if(zones == null) {
+			zones = new DimensionZones();
+			dimensionZones.put(dimensionId, zones);
+		}
+		return zones;
+	}
+
+	public static void clear() {
+		dimensionZones.clear();
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		if(!event.getWorld().isRemote)
+			dimensionZones.remove(event.getWorld().provider.getDimension());
+	}
+
+	private static class DimensionZones {
+		private final LongSet pedestals = new LongOpenHashSet();
+		private final Long2ObjectMap<LongSet> cells = new Long2ObjectOpenHashMap<>();
+
+		private void add(BlockPos pos) {
+			if(!pedestals.add(pos.toLong()))
+				return;
+
+			forEachCell(pos, cellKey -> {
+				LongSet cellZones = cells.get(cellKey);
+				if(cellZones == null) {
+					cellZones = new LongOpenHashSet();
+					cells.put(cellKey, cellZones);
+				}
+				cellZones.add(pos.toLong());
+			});
+		}
+
+		private void remove(BlockPos pos) {
+			if(!pedestals.remove(pos.toLong()))
+				return;
+
+			forEachCell(pos, cellKey -> {
+				LongSet cellZones = cells.get(cellKey);
+				if(cellZones != null && cellZones.remove(pos.toLong()) && cellZones.isEmpty())
+					cells.remove(cellKey);
+			});
+		}
+
+		private void forEachCell(BlockPos pos, LongConsumer consumer) {
+			for(int cellX = (pos.getX() - ZONE_RADIUS) >> CELL_SHIFT; cellX <= (pos.getX() + ZONE_RADIUS) >> CELL_SHIFT; cellX++) {
+				for(int cellY = (pos.getY() - ZONE_RADIUS) >> CELL_SHIFT; cellY <= (pos.getY() + ZONE_RADIUS) >> CELL_SHIFT; cellY++) {
+					for(int cellZ = (pos.getZ() - ZONE_RADIUS) >> CELL_SHIFT; cellZ <= (pos.getZ() + ZONE_RADIUS) >> CELL_SHIFT; cellZ++) {
+						consumer.accept(getCellKey(cellX, cellY, cellZ));
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,290 @@
+package xreliquary.items.util;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockDirt;
+import net.minecraft.block.IGrowable;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraftforge.common.IPlantable;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import xreliquary.blocks.BlockFertileLilypad;
+import xreliquary.reference.Reference;
+import xreliquary.util.BlockChangeNotifier;
+import xreliquary.util.IBlockChangeListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Keeps positions that harvest rods care about for every chunk section that was queried, so that rods in hand and in pedestals
+ * working the same field don't each scan it again. A section gets scanned when it's needed for the first time, afterwards only
+ * the blocks that change get classified again.
+ */
+@Mod.EventBusSubscriber(modid = Reference.MOD_ID)
+public class HarvestRodAreaCache {
+	private static final int SECTIONS_PER_CHUNK = 16;
+	private static final Int2ObjectMap<DimensionCache> dimensionCaches = new Int2ObjectOpenHashMap<>();
+
+	public static List<BlockPos> getBlocksToHoe(World world, BlockPos center, int range) {
+		return getBlocks(world, center, range, section -> section.hoeable, pos -> true);
+	}
+
+	public static List<BlockPos> getBlocksToPlantOn(World world, BlockPos center, int range, IPlantable plantable) {
+		return getBlocks(world, center, range, section -> section.getPlantableSurfaces(world, plantable), pos -> true);
+	}
+
+	public static List<BlockPos> getBlocksToBoneMeal(World world, BlockPos center, int range) {
+		//growth stage isn't tracked so whether the block can still grow needs to be checked here
+		return getBlocks(world, center, range, section -> section.growable, pos -> {
+			IBlockState blockState = world.getBlockState(pos);
+			return blockState.getBlock() instanceof IGrowable && ((IGrowable) blockState.getBlock()).canGrow(world, pos, blockState, world.isRemote);
+		});
+	}
+
+	public static List<BlockPos> getPlants(World world, BlockPos center, int range) {
+		return getBlocks(world, center, range, section -> section.plants, pos -> true);
+	}
+
+	//scans at most sectionBudget sections of the area that aren't cached yet, returns true once the whole area is cached
+	public static boolean cacheArea(World world, BlockPos center, int range, int sectionBudget) {
+		DimensionCache dimensionCache = getDimensionCache(world);
+
+		int minY = Math.max(0, center.getY() - range);
+		int maxY = Math.min(255, center.getY() + range);
+
+		int scanned = 0;
+		for(int chunkX = (center.getX() - range) >> 4; chunkX <= (center.getX() + range) >> 4; chunkX++) {
+			for(int chunkZ = (center.getZ() - range) >> 4; chunkZ <= (center.getZ() + range) >> 4; chunkZ++) {
+				for(int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+					if(!dimensionCache.isCached(chunkX, sectionY, chunkZ)) {
+						if(scanned >= sectionBudget)
+							return false;
+
+						dimensionCache.getSection(world, chunkX, sectionY, chunkZ);
+						scanned++;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	public static boolean canBeHoed(IBlockState blockState) {
+		Block block = blockState.getBlock();
+		return block == Blocks.GRASS || (block == Blocks.DIRT && (blockState.getValue(BlockDirt.VARIANT) == BlockDirt.DirtType.DIRT || blockState.getValue(BlockDirt.VARIANT) == BlockDirt.DirtType.COARSE_DIRT));
+	}
+
+	//plants that can get harvested once they are fully grown
+	public static boolean isPlant(Block block) {
+		if(!(block instanceof IPlantable || block == Blocks.MELON_BLOCK || block == Blocks.PUMPKIN))
+			return false;
+
+		return !(block instanceof BlockFertileLilypad || block == Blocks.PUMPKIN_STEM || block == Blocks.MELON_STEM);
+	}
+
+	private static List<BlockPos> getBlocks(World world, BlockPos center, int range, Function<SectionCache, LongSet> category, Predicate<BlockPos> filter) {
+		DimensionCache dimensionCache = getDimensionCache(world);
+
+		int minX = center.getX() - range;
+		int maxX = center.getX() + range;
+		int minY = Math.max(0, center.getY() - range);
+		int maxY = Math.min(255, center.getY() + range);
+		int minZ = center.getZ() - range;
+		int maxZ = center.getZ() + range;
+
+		List<BlockPos> blocks = new ArrayList<>();
+		for(int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+			for(int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+				for(int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+					LongIterator iterator = category.apply(dimensionCache.getSection(world, chunkX, sectionY, chunkZ)).iterator();
+					while(iterator.hasNext()) {
+						BlockPos pos = BlockPos.fromLong(iterator.nextLong());
+						if(pos.getX() < minX || pos.getX() > maxX || pos.getY() < minY || pos.getY() > maxY || pos.getZ() < minZ || pos.getZ() > maxZ)
+							continue;
+
+						if(filter.test(pos))
+							blocks.add(pos);
+					}
+				}
+			}
+		}
+		return blocks;
+	}
+
+	private static DimensionCache getDimensionCache(World world) {
+		int dimensionId = world.provider.getDimension();
+		DimensionCache dimensionCache = dimensionCaches.get(dimensionId);
+		if(dimensionCache == null) {
+			dimensionCache = new DimensionCache();
+			dimensionCaches.put(dimensionId, dimensionCache);
+			BlockChangeNotifier.registerListener(world, dimensionCache);
+		}
+		return dimensionCache;
+	}
+
+	@SubscribeEvent
+	public static void onChunkUnload(ChunkEvent.Unload event) {
+		if(event.getWorld().isRemote)
+			return;
+
+		DimensionCache dimensionCache = dimensionCaches.get(event.getWorld().provider.getDimension());
+		if(dimensionCache != null)
+			dimensionCache.chunks.remove(ChunkPos.asLong(event.getChunk().x, event.getChunk().z));
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		if(!event.getWorld().isRemote)
+			dimensionCaches.remove(event.getWorld().provider.getDimension());
+	}
+
+	private static class DimensionCache implements IBlockChangeListener {
+		private final Long2ObjectMap<SectionCache[]> chunks = new Long2ObjectOpenHashMap<>();
+
+		private boolean isCached(int chunkX, int sectionY, int chunkZ) {
+			SectionCache[] sections = chunks.get(ChunkPos.asLong(chunkX, chunkZ));
+			return sections != null && sections[sectionY] != null;
+		}
+
+		private SectionCache getSection(World world, int chunkX, int sectionY, int chunkZ) {
+			long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+			SectionCache[] sections = chunks.get(chunkKey);
+			if(sections == null) {
+				sections = new SectionCache[SECTIONS_PER_CHUNK];
+				chunks.put(chunkKey, sections);
+			}
+
+			if(sections[sectionY] == null)
+				sections[sectionY] = scanSection(world, chunkX, sectionY, chunkZ);
+
+			return sections[sectionY];
+		}
+
+		private SectionCache scanSection(World world, int chunkX, int sectionY, int chunkZ) {
+			SectionCache sectionCache = new SectionCache();
+
+			ExtendedBlockStorage[] storage = world.getChunkFromChunkCoords(chunkX, chunkZ).getBlockStorageArray();
+			ExtendedBlockStorage section = storage[sectionY];
+			if(isEmpty(section))
+				return sectionCache;
+
+			ExtendedBlockStorage sectionAbove = sectionY + 1 < SECTIONS_PER_CHUNK ? storage[sectionY + 1] : Chunk.NULL_BLOCK_STORAGE;
+			IBlockState air = Blocks.AIR.getDefaultState();
+			BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+			BlockPos.MutableBlockPos abovePos = new BlockPos.MutableBlockPos();
+
+			for(int x = 0; x < 16; x++) {
+				for(int z = 0; z < 16; z++) {
+					for(int y = 0; y < 16; y++) {
+						IBlockState blockState = section.get(x, y, z);
+						if(blockState == air)
+							continue;
+
+						IBlockState aboveState = y < 15 ? section.get(x, y + 1, z) : (isEmpty(sectionAbove) ? air : sectionAbove.get(x, 0, z));
+						pos.setPos((chunkX << 4) + x, (sectionY << 4) + y, (chunkZ << 4) + z);
+						abovePos.setPos(pos.getX(), pos.getY() + 1, pos.getZ());
+
+						sectionCache.classify(world, pos, blockState, aboveState.getBlock().isAir(aboveState, world, abovePos));
+					}
+				}
+			}
+
+			return sectionCache;
+		}
+
+		private boolean isEmpty(ExtendedBlockStorage section) {
+			return section == Chunk.NULL_BLOCK_STORAGE || section.isEmpty();
+		}
+
+		@Override
+		public void onBlockChanged(World world, BlockPos pos, IBlockState oldState, IBlockState newState) {
+			classifyIfCached(world, pos, newState);
+
+			//whether blocks can be hoed or planted on depends on the block above them
+			if(pos.getY() > 0) {
+				BlockPos below = pos.down();
+				classifyIfCached(world, below, world.getBlockState(below));
+			}
+		}
+
+		private void classifyIfCached(World world, BlockPos pos, IBlockState blockState) {
+			if(pos.getY() < 0 || pos.getY() > 255)
+				return;
+
+			SectionCache[] sections = chunks.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+			if(sections == null || sections[pos.getY() >> 4] == null)
+				return;
+
+			sections[pos.getY() >> 4].classify(world, pos, blockState, world.isAirBlock(pos.up()));
+		}
+	}
+
+	private static class SectionCache {
+		private final LongSet hoeable = new LongLinkedOpenHashSet();
+		//non air blocks with air above
+		private final LongSet surfaces = new LongLinkedOpenHashSet();
+		private final LongSet growable = new LongLinkedOpenHashSet();
+		private final LongSet plants = new LongLinkedOpenHashSet();
+		//surfaces that can sustain the plantable, only filled in for plantables that were asked for
+		private final Map<IPlantable, LongSet> plantableSurfaces = new HashMap<>();
+
+		private void classify(World world, BlockPos pos, IBlockState blockState, boolean airAbove) {
+			long packedPos = pos.toLong();
+			Block block = blockState.getBlock();
+			boolean surface = airAbove && !block.isAir(blockState, world, pos);
+
+			update(surfaces, packedPos, surface);
+			update(hoeable, packedPos, surface && canBeHoed(blockState));
+			update(growable, packedPos, block instanceof IGrowable);
+			update(plants, packedPos, isPlant(block));
+
+			for(Map.Entry<IPlantable, LongSet> entry : plantableSurfaces.entrySet()) {
+				update(entry.getValue(), packedPos, surface && block.canSustainPlant(blockState, world, pos, EnumFacing.UP, entry.getKey()));
+			}
+		}
+
+		private LongSet getPlantableSurfaces(World world, IPlantable plantable) {
+			LongSet sustainingSurfaces = plantableSurfaces.get(plantable);
+			if(sustainingSurfaces == null) {
+				sustainingSurfaces = new LongLinkedOpenHashSet();
+				LongIterator iterator = surfaces.iterator();
+				while(iterator.hasNext()) {
+					long packedPos = iterator.nextLong();
+					BlockPos pos = BlockPos.fromLong(packedPos);
+					IBlockState blockState = world.getBlockState(pos);
+					if(blockState.getBlock().canSustainPlant(blockState, world, pos, EnumFacing.UP, plantable))
+						sustainingSurfaces.add(packedPos);
+				}
+				plantableSurfaces.put(plantable, sustainingSurfaces);
+			}
+			return sustainingSurfaces;
+		}
+
+		private void update(LongSet positions, long packedPos, boolean shouldContain) {
+			if(shouldContain)
+				positions.add(packedPos);
+			else
+				positions.remove(packedPos);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package xreliquary.items.util;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.monster.EntityBlaze;
+import net.minecraft.entity.monster.EntityCaveSpider;
+import net.minecraft.entity.monster.EntityCreeper;
+import net.minecraft.entity.monster.EntityEnderman;
+import net.minecraft.entity.monster.EntityGhast;
+import net.minecraft.entity.monster.EntityGuardian;
+import net.minecraft.entity.monster.EntityMagmaCube;
+import net.minecraft.entity.monster.EntityPigZombie;
+import net.minecraft.entity.monster.EntitySkeleton;
+import net.minecraft.entity.monster.EntitySlime;
+import net.minecraft.entity.monster.EntitySpider;
+import net.minecraft.entity.monster.EntityStray;
+import net.minecraft.entity.monster.EntityWitch;
+import net.minecraft.entity.monster.EntityWitherSkeleton;
+import net.minecraft.entity.monster.EntityZombie;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.client.event.ConfigChangedEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.registry.EntityEntry;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import xreliquary.reference.Reference;
+import xreliquary.reference.Settings;
+import xreliquary.util.LogHelper;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Mob charm types of entity classes. Type of every class gets resolved only once by walking up its superclasses to the closest one
+ * that has a charm type, so mob events don't need to go through instanceof checks for all the charm types.
+ * Additional entities can be given charm types in config by their registry names.
+ */
+@Mod.EventBusSubscriber(modid = Reference.MOD_ID)
+public class MobCharmEntityTypes {
+	private static final Pattern VALID_ENTRY = Pattern.compile("[a-z_0-9]+:[a-z_0-9.]+=[0-9]+");
+	private static volatile ClassValue<Byte> entityTypes = new EntityTypes();
+
+	public static byte getType(Entity entity) {
+		return entityTypes.get(entity.getClass());
+	}
+
+	@SubscribeEvent
+	public static void onConfigChanged(ConfigChangedEvent.PostConfigChangedEvent event) {
+		if(event.getModID().equals(Reference.MOD_ID))
+			entityTypes = new EntityTypes();
+	}
+
+	private static class EntityTypes extends ClassValue<Byte> {
+		private Map<Class<?>, Byte> classTypes = null;
+
+		@Override
+		protected Byte computeValue(Class<?> type) {
+			Map<Class<?>, Byte> classTypes = getClassTypes();
+			for(Class<?> entityClass = type; entityClass != null; entityClass = entityClass.getSuperclass()) {
+				Byte charmType = classTypes.get(entityClass);
+				if(charmType != null)
+					return charmType;
+			}
+			return -1;
+		}
+
+		//config entries need entities to be registered so these only get loaded once charm types are first needed
+		private synchronized Map<Class<?>, Byte> getClassTypes() {
+			if(classTypes == null) {
+				classTypes = new IdentityHashMap<>();
+				addDefaultTypes();
+				addTypesFromSettings();
+			}
+			return classTypes;
+		}
+
+		private void addDefaultTypes() {
+			classTypes.put(EntityZombie.class, Reference.MOB_CHARM.ZOMBIE_META);
+			classTypes.put(EntitySkeleton.class, Reference.MOB_CHARM.SKELETON_META);
+			classTypes.put(EntityStray.class, Reference.MOB_CHARM.SKELETON_META);
+			classTypes.put(EntityWitherSkeleton.class, Reference.MOB_CHARM.WITHER_SKELETON_META);
+			classTypes.put(EntityCreeper.class, Reference.MOB_CHARM.CREEPER_META);
+			classTypes.put(EntityWitch.class, Reference.MOB_CHARM.WITCH_META);
+			classTypes.put(EntityPigZombie.class, Reference.MOB_CHARM.ZOMBIE_PIGMAN_META);
+			classTypes.put(EntityCaveSpider.class, Reference.MOB_CHARM.CAVE_SPIDER_META);
+			classTypes.put(EntitySpider.class, Reference.MOB_CHARM.SPIDER_META);
+			classTypes.put(EntityEnderman.class, Reference.MOB_CHARM.ENDERMAN_META);
+			classTypes.put(EntityGhast.class, Reference.MOB_CHARM.GHAST_META);
+			classTypes.put(EntitySlime.class, Reference.MOB_CHARM.SLIME_META);
+			classTypes.put(EntityMagmaCube.class, Reference.MOB_CHARM.MAGMA_CUBE_META);
+			classTypes.put(EntityBlaze.class, Reference.MOB_CHARM.BLAZE_META);
+			classTypes.put(EntityGuardian.class, Reference.MOB_CHARM.GUARDIAN_META);
+		}
+
+		private void addTypesFromSettings() {
+			for(String entry : Settings.Items.MobCharm.entityCharmTypes) {
+				if(!VALID_ENTRY.matcher(entry).matches()) {
+					LogHelper.error("Mob charm entity type entry \"" + entry + "\" is not valid.\n"
+							+ "Needs to be mod:entity_registry_name=charm_type where charm type is a number between 0 and " + (Reference.MOB_CHARM.COUNT_TYPES - 1));
+					continue;
+				}
+
+				String[] entryParts = entry.split("=");
+				int charmType = Integer.parseInt(entryParts[1]);
+				EntityEntry entityEntry = ForgeRegistries.ENTITIES.getValue(new ResourceLocation(entryParts[0]));
+
+				if(entityEntry == null) {
+					LogHelper.error("Mob charm entity type entry \"" + entry + "\" refers to an entity that isn't registered.");
+				} else if(charmType >= Reference.MOB_CHARM.COUNT_TYPES) {
+					LogHelper.error("Mob charm entity type entry \"" + entry + "\" has charm type that doesn't exist.");
+				} else {
+					classTypes.put(entityEntry.getEntityClass(), (byte) charmType);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,246 @@
+package xreliquary.items.util;
+
+import baubles.api.BaublesApi;
+import baubles.api.cap.IBaublesItemHandler;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Loader;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import xreliquary.blocks.tile.TileEntityPedestal;
+import xreliquary.init.ModItems;
+import xreliquary.reference.Compatibility;
+import xreliquary.reference.Reference;
+import xreliquary.reference.Settings;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Mob charm types that protect players kept as bit masks, so that checking whether a mob should leave a player alone is a bit test.
+ * Masks of player's charms get recomputed at most once per tick or when any mob charm belt changes. Pedestals with charms
+ * are indexed by chunk and their masks get combined at most once per tick for every player.
+ */
+@Mod.EventBusSubscriber(modid = Reference.MOD_ID)
+public class MobCharmProtectionCache {
+	//belts get their charms changed in place so every change invalidates all the masks
+	private static int beltRevision = 0;
+	private static final Map<EntityPlayer, PlayerMasks> playerMasks = new WeakHashMap<>();
+	private static final Int2ObjectMap<Long2ObjectMap<Long2ObjectMap<PedestalMask>>> pedestalMasks = new Int2ObjectOpenHashMap<>();
+
+	public static boolean isProtected(EntityPlayer player, byte type) {
+		if(type < 0 || type >= 64)
+			return false;
+
+		long typeBit = 1L << type;
+
+		//mobs only pick their targets on server so client only gets to check player's own charms
+		if(player.world.isRemote)
+			return (computePlayerMask(player) & typeBit) != 0;
+
+		PlayerMasks masks = playerMasks.get(player);
+		if(masks == null) {
+			masks = new PlayerMasks();
+			playerMasks.put(player, masks);
+		}
+
+		return (masks.getPlayerMask(player) & typeBit) != 0 || (masks.getPedestalMask(player) & typeBit) != 0;
+	}
+
+	public static void onBeltChanged() {
+		beltRevision++;
+	}
+
+	public static void updatePedestal(TileEntityPedestal pedestal) {
+		World world = pedestal.getWorld();
+		if(world == null || world.isRemote)
+			return;
+
+		boolean hasCharms = false;
+		for(int slot = 0; slot < pedestal.getSizeInventory() && !hasCharms; slot++) {
+			ItemStack stack = pedestal.getStackInSlot(slot);
+			hasCharms = stack.getItem() == ModItems.mobCharm || stack.getItem() == ModItems.mobCharmBelt;
+		}
+
+		if(!hasCharms) {
+			removePedestal(world, pedestal.getPos());
+			return;
+		}
+
+		Long2ObjectMap<Long2ObjectMap<PedestalMask>> chunks = pedestalMasks.get(world.provider.getDimension());
+		if(chunks == null) {
+			chunks = new Long2ObjectOpenHashMap<>();
+			pedestalMasks.put(world.provider.getDimension(), chunks);
+		}
+
+		long chunkKey = ChunkPos.asLong(pedestal.getPos().getX() >> 4, pedestal.getPos().getZ() >> 4);
+		Long2ObjectMap<PedestalMask> chunkPedestals = chunks.get(chunkKey);
+		if(chunkPedestals == null) {
+			chunkPedestals = new Long2ObjectOpenHashMap<>();
+			chunks.put(chunkKey, chunkPedestals);
+		}
+
+		//items changed so the mask needs to be recomputed even if the pedestal was already indexed
+		chunkPedestals.put(pedestal.getPos().toLong(), new PedestalMask(pedestal));
+	}
+
+	public static void removePedestal(World world, BlockPos pos) {
+		if(world.isRemote)
+			return;
+
+		Long2ObjectMap<Long2ObjectMap<PedestalMask>> chunks = pedestalMasks.get(world.provider.getDimension());
+		if(chunks == null)
+			return;
+
+		long chunkKey = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+		Long2ObjectMap<PedestalMask> chunkPedestals = chunks.get(chunkKey);
+		if(chunkPedestals != null && chunkPedestals.remove(pos.toLong()) != null && chunkPedestals.isEmpty())
+			chunks.remove(chunkKey);
+	}
+
+	public static void clear() {
+		playerMasks.clear();
+		pedestalMasks.clear();
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		if(!event.getWorld().isRemote)
+			pedestalMasks.remove(event.getWorld().provider.getDimension());
+	}
+
+	private static long computePlayerMask(EntityPlayer player) {
+		long mask = getStacksMask(player.inventory.mainInventory);
+
+		if(Loader.isModLoaded(Compatibility.MOD_ID.BAUBLES)) {
+			IBaublesItemHandler inventoryBaubles = BaublesApi.getBaublesHandler(player);
+			for(int i = 0; i < inventoryBaubles.getSlots(); i++) {
+				ItemStack baubleStack = inventoryBaubles.getStackInSlot(i);
+				if(baubleStack.getItem() == ModItems.mobCharmBelt)
+					mask |= ModItems.mobCharmBelt.getCharmTypeMask(baubleStack);
+			}
+		}
+		return mask;
+	}
+
+	static long getStacksMask(Iterable<ItemStack> stacks) {
+		long mask = 0;
+		for(ItemStack stack : stacks) {
+			mask |= getStackMask(stack);
+		}
+		return mask;
+	}
+
+	private static long getStackMask(ItemStack stack) {
+		if(stack.isEmpty())
+			return 0;
+
+		if(stack.getItem() == ModItems.mobCharm) {
+			byte type = ModItems.mobCharm.getType(stack);
+			return type >= 0 && type < 64 ? 1L << type : 0;
+		}
+
+		if(stack.getItem() == ModItems.mobCharmBelt)
+			return ModItems.mobCharmBelt.getCharmTypeMask(stack);
+
+		return 0;
+	}
+
+	static class PlayerMasks {
+		private long playerMaskTime = -1;
+		private int playerMaskRevision = -1;
+		private long playerMask = 0;
+
+		private long pedestalMaskTime = -1;
+		private int pedestalMaskRevision = -1;
+		private int pedestalMaskDimension;
+		private long pedestalMask = 0;
+
+		private long getPlayerMask(EntityPlayer player) {
+			return getPlayerMask(player.world.getTotalWorldTime(), () -> computePlayerMask(player));
+		}
+
+		//stacks can get emptied or have their charms changed in place so the mask can't be kept for longer than a tick
+		long getPlayerMask(long time, LongSupplier playerMaskComputer) {
+			if(playerMaskTime != time || playerMaskRevision != beltRevision) {
+				playerMask = playerMaskComputer.getAsLong();
+				playerMaskTime = time;
+				//reading belts can clean up their invalid charms which changes the revision
+				playerMaskRevision = beltRevision;
+			}
+			return playerMask;
+		}
+
+		private long getPedestalMask(EntityPlayer player) {
+			long time = player.world.getTotalWorldTime();
+			int dimension = player.world.provider.getDimension();
+			if(pedestalMaskTime != time || pedestalMaskRevision != beltRevision || pedestalMaskDimension != dimension) {
+				pedestalMask = computePedestalMask(player.world, player.getPosition(), Settings.Items.MobCharm.pedestalRange);
+				pedestalMaskTime = time;
+				pedestalMaskRevision = beltRevision;
+				pedestalMaskDimension = dimension;
+			}
+			return pedestalMask;
+		}
+
+		private long computePedestalMask(World world, BlockPos playerPos, int range) {
+			Long2ObjectMap<Long2ObjectMap<PedestalMask>> chunks = pedestalMasks.get(world.provider.getDimension());
+			if(chunks == null)
+				return 0;
+
+			long mask = 0;
+			for(int chunkX = (playerPos.getX() - range) >> 4; chunkX <= (playerPos.getX() + range) >> 4; chunkX++) {
+				for(int chunkZ = (playerPos.getZ() - range) >> 4; chunkZ <= (playerPos.getZ() + range) >> 4; chunkZ++) {
+					Long2ObjectMap<PedestalMask> chunkPedestals = chunks.get(ChunkPos.asLong(chunkX, chunkZ));
+					if(chunkPedestals == null)
+						continue;
+
+					for(PedestalMask pedestal : chunkPedestals.values()) {
+						if(pedestal.isInRange(playerPos, range))
+							mask |= pedestal.getMask();
+					}
+				}
+			}
+			return mask;
+		}
+	}
+
+	private static class PedestalMask {
+		private final TileEntityPedestal pedestal;
+		private final BlockPos pos;
+		private int revision = -1;
+		private long mask = 0;
+
+		private PedestalMask(TileEntityPedestal pedestal) {
+			this.pedestal = pedestal;
+			this.pos = pedestal.getPos();
+		}
+
+		private boolean isInRange(BlockPos playerPos, int range) {
+			return Math.abs(pos.getX() - playerPos.getX()) <= range && Math.abs(pos.getY() - playerPos.getY()) <= range && Math.abs(pos.getZ() - playerPos.getZ()) <= range;
+		}
+
+		private long getMask() {
+			if(!pedestal.isEnabled())
+				return 0;
+
+			if(revision != beltRevision) {
+				mask = 0;
+				for(int slot = 0; slot < pedestal.getSizeInventory(); slot++) {
+					mask |= getStackMask(pedestal.getStackInSlot(slot));
+				}
+				revision = beltRevision;
+			}
+			return mask;
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package xreliquary.items.util;
+
+import net.minecraft.entity.player.EntityPlayer;
+import xreliquary.init.ModItems;
+import xreliquary.reference.Settings;
+import xreliquary.util.InventoryHelper;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Players wearing an enabled twilight cloak. Cloaks mark their holders every tick they get updated, so mobs targeting a player
+ * only need a lookup to tell whether the player is hidden from them. Light level at a cloaked player gets read at most once per tick.
+ */
+public class TwilightCloakHolders {
+	//only kept for server players, client checks go through the player's inventory as they run on a different thread
+	private static final Map<EntityPlayer, CloakedPlayer> cloakedPlayers = new WeakHashMap<>();
+
+	public static void markCloaked(EntityPlayer player) {
+		if(player.world.isRemote)
+			return;
+
+		CloakedPlayer cloakedPlayer = cloakedPlayers.get(player);
+		if(cloakedPlayer == null) {
+			cloakedPlayer = new CloakedPlayer();
+			cloakedPlayers.put(player, cloakedPlayer);
+		}
+		cloakedPlayer.markedTime = player.world.getTotalWorldTime();
+	}
+
+	public static boolean isHiddenFromMobs(EntityPlayer player) {
+		if(player.world.isRemote)
+			return InventoryHelper.playerHasItem(player, ModItems.twilightCloak, true) && isDarkEnough(player);
+
+		CloakedPlayer cloakedPlayer = cloakedPlayers.get(player);
+		if(cloakedPlayer == null)
+			return false;
+
+		long time = player.world.getTotalWorldTime();
+		//mark is kept for an extra tick so that it doesn't matter whether the cloak or the mob gets updated first
+		if(time - cloakedPlayer.markedTime > 1) {
+			cloakedPlayers.remove(player);
+			return false;
+		}
+
+		if(cloakedPlayer.darkEnoughTime != time) {
+			cloakedPlayer.darkEnough = isDarkEnough(player);
+			cloakedPlayer.darkEnoughTime = time;
+		}
+		return cloakedPlayer.darkEnough;
+	}
+
+	public static void clear() {
+		cloakedPlayers.clear();
+	}
+
+	private static boolean isDarkEnough(EntityPlayer player) {
+		return player.world.getLightFromNeighbors(player.getPosition()) <= Settings.Items.TwilightCloak.maxLightLevel;
+	}
+
+	private static class CloakedPlayer {
+		private long markedTime;
+		private long darkEnoughTime = -1;
+		private boolean darkEnough;
+	}
+}
@@ -18,6 +18,7 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import net.minecraftforge.items.CapabilityItemHandler;
 import net.minecraftforge.items.IItemHandler;
+import xreliquary.client.gui.hud.HUDStateCache;
 import xreliquary.items.util.FilteredItemStackHandler;
 
 import java.io.IOException;
@@ -87,6 +88,7 @@ public class PacketContainerItemHandlerSync implements IMessage, IMessageHandler
 				FilteredItemStackHandler filteredHandler = (FilteredItemStackHandler) itemHandler;
 
 				filteredHandler.deserializeNBT(message.itemHandlerNBT);
+				HUDStateCache.invalidateAll();
 			}
 		}
 	}
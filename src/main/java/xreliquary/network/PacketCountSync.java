@@ -16,6 +16,7 @@ import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
+import xreliquary.client.gui.hud.HUDStateCache;
 import xreliquary.util.NBTHelper;
 
 import java.io.IOException;
@@ -81,5 +82,6 @@ public class PacketCountSync implements IMessage, IMessageHandler<PacketCountSyn
 		ItemStack container = player.getHeldItem(message.hand);
 
 		NBTHelper.updateContainedStack(container, message.slot, message.stack, message.count, message.stack.isEmpty());
+		HUDStateCache.invalidateAll();
 	}
 }
@@ -0,0 +1,268 @@
+package xreliquary.pedestal;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import xreliquary.api.IPedestal;
+import xreliquary.reference.Reference;
+import xreliquary.reference.Settings;
+
+import javax.annotation.Nullable;
+
+/**
+ * Links every pedestal with a redstone item in it to the pedestals it switches on. Links are made when the redstone pedestal
+ * first sends its signal and when other pedestals get loaded in its range, so that the signal only needs to be sent
+ * to the linked pedestals when it changes instead of looking them up on every redstone update.
+ * Redstone pedestals are indexed by chunk so that only the ones in chunks around a loaded pedestal need to be checked,
+ * and all links get made again when the range changes in config.
+ */
+@Mod.EventBusSubscriber(modid = Reference.MOD_ID)
+public class PedestalRedstoneLinks {
+	private static final Int2ObjectMap<DimensionLinks> dimensionLinks = new Int2ObjectOpenHashMap<>();
+
+	public static void updateSignal(IPedestal pedestal, boolean signal) {
+		World world = pedestal.getTheWorld();
+		if(world.isRemote)
+			return;
+
+		DimensionLinks links = getDimensionLinks(world.provider.getDimension());
+		BlockPos sourcePos = pedestal.getBlockPos();
+		Source source = links.sources.get(sourcePos.toLong());
+		if(source == null) {
+			source = new Source();
+			source.targets.addAll(getTargetsInRange(world, sourcePos, Settings.Blocks.Pedestal.redstoneWrapperRange));
+			links.addSource(sourcePos.toLong(), source);
+		} else if(source.signal == signal) {
+			return;
+		}
+
+		source.signal = signal;
+		LongIterator iterator = source.targets.iterator();
+		while(iterator.hasNext()) {
+			sendSignal(world, sourcePos, iterator.nextLong(), signal);
+		}
+	}
+
+	public static void removeSource(IPedestal pedestal) {
+		World world = pedestal.getTheWorld();
+		if(world.isRemote)
+			return;
+
+		BlockPos sourcePos = pedestal.getBlockPos();
+		DimensionLinks links = dimensionLinks.get(world.provider.getDimension());
+		Source source = links == null ? null : links.removeSource(sourcePos.toLong());
+
+		if(source != null) {
+			LongIterator iterator = source.targets.iterator();
+			while(iterator.hasNext()) {
+				sendSignal(world, sourcePos, iterator.nextLong(), false);
+			}
+		} else {
+			//source that never sent its signal may still have switches left from before a reload
+			LongIterator iterator = getTargetsInRange(world, sourcePos, Settings.Blocks.Pedestal.redstoneWrapperRange).iterator();
+			while(iterator.hasNext()) {
+				sendSignal(world, sourcePos, iterator.nextLong(), false);
+			}
+		}
+		//the pedestal itself gets its state checked too same as when it was one of the pedestals in range
+		pedestal.switchOff(sourcePos);
+	}
+
+	//pedestals get linked at the start of the next tick as redstone pedestals can't switch them on while they are being loaded
+	public static void onPedestalLoaded(World world, BlockPos pos) {
+		if(!world.isRemote)
+			getDimensionLinks(world.provider.getDimension()).loadedPedestals.add(pos.toLong());
+	}
+
+	public static void onPedestalUnloaded(World world, BlockPos pos) {
+		if(world.isRemote)
+			return;
+
+		DimensionLinks links = dimensionLinks.get(world.provider.getDimension());
+		if(links == null)
+			return;
+
+		long key = pos.toLong();
+		links.loadedPedestals.remove(key);
+		links.removeSource(key);
+		LongIterator sources = links.getSourcesInRange(pos, links.range).iterator();
+		while(sources.hasNext()) {
+			links.sources.get(sources.nextLong()).targets.remove(key);
+		}
+	}
+
+	public static void clear() {
+		dimensionLinks.clear();
+	}
+
+	@SubscribeEvent
+	public static void onWorldTick(TickEvent.WorldTickEvent event) {
+		if(event.phase != TickEvent.Phase.START || event.world.isRemote)
+			return;
+
+		DimensionLinks links = dimensionLinks.get(event.world.provider.getDimension());
+		if(links == null)
+			return;
+
+		int range = Settings.Blocks.Pedestal.redstoneWrapperRange;
+		if(links.range != range) {
+			relink(event.world, links, range);
+			links.range = range;
+		}
+
+		if(links.loadedPedestals.isEmpty())
+			return;
+
+		LongIterator pedestals = links.loadedPedestals.iterator();
+		while(pedestals.hasNext()) {
+			long key = pedestals.nextLong();
+			LongIterator sources = links.getSourcesInRange(BlockPos.fromLong(key), range).iterator();
+			while(sources.hasNext()) {
+				long sourceKey = sources.nextLong();
+				Source source = links.sources.get(sourceKey);
+				if(sourceKey != key && source.targets.add(key))
+					sendSignal(event.world, BlockPos.fromLong(sourceKey), key, source.signal);
+			}
+		}
+		links.loadedPedestals.clear();
+	}
+
+	//switches off pedestals that are no longer in range and passes signal to the ones that got in range
+	private static void relink(World world, DimensionLinks links, int range) {
+		for(Long2ObjectMap.Entry<Source> entry : links.sources.long2ObjectEntrySet()) {
+			BlockPos sourcePos = BlockPos.fromLong(entry.getLongKey());
+			Source source = entry.getValue();
+			LongSet targets = getTargetsInRange(world, sourcePos, range);
+
+			LongIterator oldTargets = source.targets.iterator();
+			while(oldTargets.hasNext()) {
+				long target = oldTargets.nextLong();
+				if(!targets.contains(target))
+					sendSignal(world, sourcePos, target, false);
+			}
+
+			LongIterator newTargets = targets.iterator();
+			while(newTargets.hasNext()) {
+				long target = newTargets.nextLong();
+				if(source.signal && !source.targets.contains(target))
+					sendSignal(world, sourcePos, target, true);
+			}
+
+			source.targets.clear();
+			source.targets.addAll(targets);
+		}
+	}
+
+	private static LongSet getTargetsInRange(World world, BlockPos sourcePos, int range) {
+		LongSet targets = new LongLinkedOpenHashSet();
+		for(BlockPos pos : PedestalRegistry.getPositionsInRange(world.provider.getDimension(), sourcePos, range)) {
+			if(!pos.equals(sourcePos))
+				targets.add(pos.toLong());
+		}
+		return targets;
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		World world = event.getWorld();
+		if(!world.isRemote)
+			dimensionLinks.remove(world.provider.getDimension());
+	}
+
+	private static void sendSignal(World world, BlockPos sourcePos, long target, boolean signal) {
+		TileEntity te = world.getTileEntity(BlockPos.fromLong(target));
+		if(!(te instanceof IPedestal))
+			return;
+
+		if(signal)
+			((IPedestal) te).switchOn(sourcePos);
+		else
+			((IPedestal) te).switchOff(sourcePos);
+	}
+
+	private static DimensionLinks getDimensionLinks(int dimensionId) {
+		DimensionLinks links = dimensionLinks.get(dimensionId);
+		if(links == null) {
+			links = new DimensionLinks();
+			dimensionLinks.put(dimensionId, links);
+		}
+		return links;
+	}
+
+	private static class DimensionLinks {
+		private final Long2ObjectMap<Source> sources = new Long2ObjectOpenHashMap<>();
+		//source positions bucketed by the chunk they are in
+		private final Long2ObjectMap<LongSet> chunkSources = new Long2ObjectOpenHashMap<>();
+		private final LongSet loadedPedestals = new LongLinkedOpenHashSet();
+		//range the current links were made with
+		private int range = Settings.Blocks.Pedestal.redstoneWrapperRange;
+
+		private void addSource(long key, Source source) {
+			sources.put(key, source);
+
+			long chunkKey = getChunkKey(BlockPos.fromLong(key));
+			LongSet chunkKeys = chunkSources.get(chunkKey);
+			if(chunkKeys == null) {
+				chunkKeys = new LongOpenHashSet();
+				chunkSources.put(chunkKey, chunkKeys);
+			}
+			chunkKeys.add(key);
+		}
+
+		@Nullable
+		private Source removeSource(long key) {
+			Source source = sources.remove(key);
+			if(source != null) {
+				long chunkKey = getChunkKey(BlockPos.fromLong(key));
+				LongSet chunkKeys = chunkSources.get(chunkKey);
+				if(chunkKeys != null && chunkKeys.remove(key) && chunkKeys.isEmpty())
+					chunkSources.remove(chunkKey);
+			}
+			return source;
+		}
+
+		private LongList getSourcesInRange(BlockPos pos, int range) {
+			LongList sourcesInRange = new LongArrayList();
+			for(int chunkX = (pos.getX() - range) >> 4; chunkX <= (pos.getX() + range) >> 4; chunkX++) {
+				for(int chunkZ = (pos.getZ() - range) >> 4; chunkZ <= (pos.getZ() + range) >> 4; chunkZ++) {
+					LongSet chunkKeys = chunkSources.get(ChunkPos.asLong(chunkX, chunkZ));
+					if(chunkKeys == null)
+						continue;
+
+					LongIterator iterator = chunkKeys.iterator();
+					while(iterator.hasNext()) {
+						long key = iterator.nextLong();
+						BlockPos sourcePos = BlockPos.fromLong(key);
+						if(Math.abs(pos.getX() - sourcePos.getX()) <= range && Math.abs(pos.getY() - sourcePos.getY()) <= range && Math.abs(pos.getZ() - sourcePos.getZ()) <= range)
+							sourcesInRange.add(key);
+					}
+				}
+			}
+			return sourcesInRange;
+		}
+
+		private static long getChunkKey(BlockPos pos) {
+			return ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+		}
+	}
+
+	private static class Source {
+		private final LongSet targets = new LongLinkedOpenHashSet();
+		private boolean signal;
+	}
+}
@@ -1,69 +1,129 @@
 package xreliquary.pedestal;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.block.Block;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemBlock;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import xreliquary.api.IPedestalItemWrapper;
-import xreliquary.util.LogHelper;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 public class PedestalRegistry {
 	private static final PedestalRegistry INSTANCE = new PedestalRegistry();
-	//TODO figure out if this stays here and if storing BlocPos in addition to pos long is required
-	private static final Map<LocationKey, BlockPos> positions = new HashMap<>();
+	//pedestal positions (as packed longs) bucketed per dimension by the chunk they are in
+	private static final Int2ObjectMap<Long2ObjectMap<LongSet>> positions = new Int2ObjectOpenHashMap<>();
 
-	private Map<Class<? extends Item>, Class<? extends IPedestalItemWrapper>> itemWrappers = new HashMap<>();
-	private Map<Class<? extends Block>, Class<? extends IPedestalItemWrapper>> blockWrappers = new HashMap<>();
+	//used to remember items that don't have any wrapper so that they don't get looked up again
+	private static final Supplier<IPedestalItemWrapper> NO_WRAPPER = () -> null;
 
-	public static void registerItemWrapper(Class<? extends Item> itemClass, Class<? extends IPedestalItemWrapper> wrapperClass) {
-		INSTANCE.itemWrappers.put(itemClass, wrapperClass);
+	private Map<Class<? extends Item>, Supplier<? extends IPedestalItemWrapper>> itemWrappers = new LinkedHashMap<>();
+	private Map<Class<? extends Block>, Supplier<? extends IPedestalItemWrapper>> blockWrappers = new LinkedHashMap<>();
+	//pedestals look up wrappers both on the server thread and on the client thread when their items get synced
+	private Map<Item, Supplier<? extends IPedestalItemWrapper>> resolvedWrappers = new ConcurrentHashMap<>();
+
+	private final AtomicLong wrapperCacheHits = new AtomicLong();
+	private final AtomicLong wrapperCacheMisses = new AtomicLong();
+
+	public static void registerItemWrapper(Class<? extends Item> itemClass, Supplier<? extends IPedestalItemWrapper> wrapperFactory) {
+		INSTANCE.itemWrappers.put(itemClass, wrapperFactory);
+		INSTANCE.resolvedWrappers.clear();
 	}
 
-	public static void registerItemBlockWrapper(Class<? extends Block> blockClass, Class<? extends IPedestalItemWrapper> wrapperClass) {
-		INSTANCE.blockWrappers.put(blockClass, wrapperClass);
+	public static void registerItemBlockWrapper(Class<? extends Block> blockClass, Supplier<? extends IPedestalItemWrapper> wrapperFactory) {
+		INSTANCE.blockWrappers.put(blockClass, wrapperFactory);
+		INSTANCE.resolvedWrappers.clear();
 	}
 
 	public static IPedestalItemWrapper getItemWrapper(ItemStack item) {
-		for(Class<? extends Item> itemClass : INSTANCE.itemWrappers.keySet()) {
-			if(itemClass.isInstance(item.getItem()))
-				try {
-					return INSTANCE.itemWrappers.get(itemClass).newInstance();
-				}
-				catch(InstantiationException | IllegalAccessException e) {
-					LogHelper.error("Error instantiating pedestal action item wrapper for " + itemClass.getName());
-				}
+		Supplier<? extends IPedestalItemWrapper> wrapperFactory = INSTANCE.resolvedWrappers.get(item.getItem());
+
+		if(wrapperFactory == null) {
+			wrapperFactory = INSTANCE.resolvedWrappers.computeIfAbsent(item.getItem(), i -> {
+				INSTANCE.wrapperCacheMisses.incrementAndGet();
+				return INSTANCE.resolveWrapperFactory(i);
+			});
+		} else {
+			INSTANCE.wrapperCacheHits.incrementAndGet();
+		}
 
+		return wrapperFactory.get();
+	}
+
+	public static long getWrapperCacheHits() {
+		return INSTANCE.wrapperCacheHits.get();
+	}
+
+	public static long getWrapperCacheMisses() {
+		return INSTANCE.wrapperCacheMisses.get();
+	}
+
+	private Supplier<? extends IPedestalItemWrapper> resolveWrapperFactory(Item item) {
+		for(Map.Entry<Class<? extends Item>, Supplier<? extends IPedestalItemWrapper>> entry : itemWrappers.entrySet()) {
+			if(entry.getKey().isInstance(item))
+				return entry.getValue();
 		}
 
-		for(Class<? extends Block> blockClass : INSTANCE.blockWrappers.keySet()) {
-			if(item.getItem() instanceof ItemBlock) {
-				if(blockClass.isInstance(((ItemBlock) item.getItem()).getBlock()))
-					try {
-						return INSTANCE.blockWrappers.get(blockClass).newInstance();
-					}
-					catch(InstantiationException | IllegalAccessException e) {
-						LogHelper.error("Error instantiating pedestal action item wrapper for " + blockClass.getName());
-					}
+		if(item instanceof ItemBlock) {
+			Block block = ((ItemBlock) item).getBlock();
+			for(Map.Entry<Class<? extends Block>, Supplier<? extends IPedestalItemWrapper>> entry : blockWrappers.entrySet()) {
+				if(entry.getKey().isInstance(block))
+					return entry.getValue();
 			}
 		}
 
-		return null;
+		return NO_WRAPPER;
 	}
 
 	public static void registerPosition(int dimensionId, BlockPos pos) {
-		LocationKey key = new LocationKey(dimensionId, pos.toLong());
-		if(!positions.containsKey(key))
-			positions.put(key, pos);
+		Long2ObjectMap<LongSet> chunkBuckets = positions.get(dimensionId);
+		if(chunkBuckets == null) {
+			chunkBuckets = new Long2ObjectOpenHashMap<>();
+			positions.put(dimensionId, chunkBuckets);
+		}
+
+		long chunkKey = getChunkKey(pos);
+		LongSet bucket = chunkBuckets.get(chunkKey);
+		if(bucket == null) {
+			bucket = new LongOpenHashSet();
+			chunkBuckets.put(chunkKey, bucket);
+		}
+
+		bucket.add(pos.toLong());
 	}
 
 	public static void unregisterPosition(int dimensionId, BlockPos pos) {
-		positions.remove(new LocationKey(dimensionId, pos.toLong()));
+		Long2ObjectMap<LongSet> chunkBuckets = positions.get(dimensionId);
+		if(chunkBuckets == null)
+			return;
+
+		long chunkKey = getChunkKey(pos);
+		LongSet bucket = chunkBuckets.get(chunkKey);
+		if(bucket == null)
+			return;
+
+		bucket.remove(pos.toLong());
+
+		if(bucket.isEmpty()) {
+			chunkBuckets.remove(chunkKey);
+
+			if(chunkBuckets.isEmpty())
+				positions.remove(dimensionId);
+		}
 	}
 
 	public static void clearPositions() {
@@ -76,53 +136,53 @@ public class PedestalRegistry {
 
 	private static List<BlockPos> getPositionsInRange(int dimensionId, BlockPos startPos, int xRange, int yRange, int zRange) {
 		List<BlockPos> positionsInRange = new ArrayList<>();
-		for(Map.Entry<LocationKey, BlockPos> position : positions.entrySet()) {
-			if(position.getKey().getDimensionId() != dimensionId)
-				continue;
-			BlockPos pos = position.getValue();
-			if(pos.getX() < startPos.getX() - xRange || pos.getX() > startPos.getX() + xRange)
-				continue;
-			if(pos.getY() < startPos.getY() - yRange || pos.getY() > startPos.getY() + yRange)
-				continue;
-			if(pos.getZ() < startPos.getZ() - zRange || pos.getZ() > startPos.getZ() + zRange)
-				continue;
-
-			positionsInRange.add(pos);
-		}
-		return positionsInRange;
-	}
-
-	private static class LocationKey {
-		private int dimensionId;
-		private long location;
 
-		LocationKey(int dimensionId, long location) {
-			this.dimensionId = dimensionId;
-			this.location = location;
+		Long2ObjectMap<LongSet> chunkBuckets = positions.get(dimensionId);
+		if(chunkBuckets == null)
+			return positionsInRange;
+
+		int minX = startPos.getX() - xRange;
+		int maxX = startPos.getX() + xRange;
+		int minY = startPos.getY() - yRange;
+		int maxY = startPos.getY() + yRange;
+		int minZ = startPos.getZ() - zRange;
+		int maxZ = startPos.getZ() + zRange;
+
+		//for ranges spanning more chunks than there are buckets it's cheaper to just go through all the buckets
+		long chunksInRange = (long) ((maxX >> 4) - (minX >> 4) + 1) * ((maxZ >> 4) - (minZ >> 4) + 1);
+		if(chunksInRange > chunkBuckets.size()) {
+			for(LongSet bucket : chunkBuckets.values()) {
+				addPositionsInRange(bucket, positionsInRange, minX, maxX, minY, maxY, minZ, maxZ);
+			}
+			return positionsInRange;
 		}
 
-		@Override
-		public int hashCode() {
-			//won't produce unique hash at all times, but it's very unlikely that there will be two keys with same hash and absolutely unlikely that will cause issues
-			return Long.hashCode(location + dimensionId);
+		for(int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+			for(int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+				LongSet bucket = chunkBuckets.get(ChunkPos.asLong(chunkX, chunkZ));
+				if(bucket != null)
+					addPositionsInRange(bucket, positionsInRange, minX, maxX, minY, maxY, minZ, maxZ);
+			}
 		}
+		return positionsInRange;
+	}
 
-		@Override
-		public boolean equals(Object o) {
-			if (! (o instanceof LocationKey))
-				return false;
-
-			LocationKey key2 = (LocationKey) o;
-
-			return this.getDimensionId() == key2.getDimensionId() && this.getLocation() == key2.getLocation();
-		}
+	private static void addPositionsInRange(LongSet bucket, List<BlockPos> positionsInRange, int minX, int maxX, int minY, int maxY, int minZ, int maxZ) {
+		LongIterator iterator = bucket.iterator();
+		while(iterator.hasNext()) {
+			BlockPos pos = BlockPos.fromLong(iterator.nextLong());
+			if(pos.getX() < minX || pos.getX() > maxX)
+				continue;
+			if(pos.getY() < minY || pos.getY() > maxY)
+				continue;
+			if(pos.getZ() < minZ || pos.getZ() > maxZ)
+				continue;
 
-		int getDimensionId() {
-			return dimensionId;
+			positionsInRange.add(pos);
 		}
+	}
 
-		public long getLocation() {
-			return location;
-		}
+	private static long getChunkKey(BlockPos pos) {
+		return ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
 	}
 }
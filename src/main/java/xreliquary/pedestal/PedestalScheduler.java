@@ -0,0 +1,255 @@
+package xreliquary.pedestal;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import xreliquary.api.IPedestalActionItem;
+import xreliquary.blocks.tile.TileEntityPedestal;
+import xreliquary.reference.Reference;
+import xreliquary.reference.Settings;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ticks all loaded pedestals of a dimension once per world tick instead of leaving it to the world's tickable tile entity list.
+ * If the pedestals of a dimension use up the configured time budget the rest of them gets deferred to the next tick,
+ * which then starts with the deferred ones so that every pedestal keeps getting its turn.
+ */
+@Mod.EventBusSubscriber(modid = Reference.MOD_ID)
+public class PedestalScheduler {
+	private static final Int2ObjectMap<DimensionSchedule> schedules = new Int2ObjectOpenHashMap<>();
+	private static final Map<Class<?>, ItemTiming> itemTimings = new HashMap<>();
+	private static long deferredUpdates = 0;
+
+	public static void schedule(TileEntityPedestal pedestal) {
+		World world = pedestal.getWorld();
+		if(world.isRemote)
+			return;
+
+		getSchedule(world).add(pedestal);
+	}
+
+	/**
+	 * Queues block update of the pedestal to be sent to clients at the end of the tick, multiple requests in the same tick
+	 * result in a single update.
+	 */
+	public static void requestBlockUpdate(TileEntityPedestal pedestal) {
+		World world = pedestal.getWorld();
+		if(world.isRemote)
+			return;
+
+		getSchedule(world).pendingBlockUpdates.add(pedestal);
+	}
+
+	public static void unschedule(TileEntityPedestal pedestal) {
+		World world = pedestal.getWorld();
+		if(world.isRemote)
+			return;
+
+		DimensionSchedule schedule = schedules.get(world.provider.getDimension());
+		if(schedule != null)
+			schedule.remove(pedestal);
+	}
+
+	/**
+	 * Returns number of ticks an action item should wait before its first update. It's derived from the pedestal position
+	 * and slot so that pedestals which got loaded or filled at the same time don't end up doing their work on the same ticks.
+	 */
+	public static int getPhaseOffset(BlockPos pos, int slot) {
+		int tickSpread = Settings.Blocks.Pedestal.tickSpread;
+		if(tickSpread <= 1)
+			return 0;
+
+		return Math.floorMod((int) HashCommon.murmurHash3(pos.toLong() + slot), tickSpread);
+	}
+
+	public static void recordItemTiming(IPedestalActionItem actionItem, long nanos) {
+		ItemTiming timing = itemTimings.get(actionItem.getClass());
+		if(timing == null) {
+			timing = new ItemTiming(actionItem.getClass().getSimpleName());
+			itemTimings.put(actionItem.getClass(), timing);
+		}
+
+		timing.add(nanos);
+	}
+
+	public static List<ItemTiming> getItemTimings() {
+		List<ItemTiming> timings = new ArrayList<>(itemTimings.values());
+		timings.sort((a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+		return timings;
+	}
+
+	public static long getDeferredUpdates() {
+		return deferredUpdates;
+	}
+
+	public static int getScheduledCount() {
+		int count = 0;
+		for(DimensionSchedule schedule : schedules.values()) {
+			count += schedule.scheduled.size();
+		}
+		return count;
+	}
+
+	public static void resetTimings() {
+		itemTimings.clear();
+		deferredUpdates = 0;
+	}
+
+	public static void clear() {
+		schedules.clear();
+		resetTimings();
+	}
+
+	private static DimensionSchedule getSchedule(World world) {
+		DimensionSchedule schedule = schedules.get(world.provider.getDimension());
+		if(schedule == null) {
+			schedule = new DimensionSchedule();
+			schedules.put(world.provider.getDimension(), schedule);
+		}
+		return schedule;
+	}
+
+	@SubscribeEvent
+	public static void onWorldTick(TickEvent.WorldTickEvent event) {
+		if(event.phase != TickEvent.Phase.END || event.world.isRemote)
+			return;
+
+		DimensionSchedule schedule = schedules.get(event.world.provider.getDimension());
+		if(schedule != null) {
+			schedule.tick();
+			schedule.sendBlockUpdates(event.world);
+		}
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		World world = event.getWorld();
+		if(!world.isRemote)
+			schedules.remove(world.provider.getDimension());
+	}
+
+	private static class DimensionSchedule {
+		private final List<TileEntityPedestal> pedestals = new ArrayList<>();
+		private final Set<TileEntityPedestal> scheduled = new HashSet<>();
+		//changes get applied at the start of the next tick as pedestals can get added or removed while others are updating
+		private final Set<TileEntityPedestal> pendingAdditions = new HashSet<>();
+		private final Set<TileEntityPedestal> pendingRemovals = new HashSet<>();
+		private final Set<TileEntityPedestal> pendingBlockUpdates = new LinkedHashSet<>();
+		private int cursor = 0;
+
+		private void add(TileEntityPedestal pedestal) {
+			pendingRemovals.remove(pedestal);
+			if(!scheduled.contains(pedestal))
+				pendingAdditions.add(pedestal);
+		}
+
+		private void remove(TileEntityPedestal pedestal) {
+			pendingAdditions.remove(pedestal);
+			if(scheduled.contains(pedestal))
+				pendingRemovals.add(pedestal);
+		}
+
+		private void applyPendingChanges() {
+			if(!pendingRemovals.isEmpty()) {
+				pedestals.removeIf(pendingRemovals::contains);
+				scheduled.removeAll(pendingRemovals);
+				pendingRemovals.clear();
+			}
+
+			if(!pendingAdditions.isEmpty()) {
+				for(TileEntityPedestal pedestal : pendingAdditions) {
+					if(scheduled.add(pedestal))
+						pedestals.add(pedestal);
+				}
+				pendingAdditions.clear();
+			}
+		}
+
+		private void sendBlockUpdates(World world) {
+			if(pendingBlockUpdates.isEmpty())
+				return;
+
+			for(TileEntityPedestal pedestal : pendingBlockUpdates) {
+				if(!pedestal.isInvalid()) {
+					IBlockState blockState = world.getBlockState(pedestal.getPos());
+					world.notifyBlockUpdate(pedestal.getPos(), blockState, blockState, 3);
+				}
+			}
+			pendingBlockUpdates.clear();
+		}
+
+		private void tick() {
+			applyPendingChanges();
+
+			int count = pedestals.size();
+			if(count == 0)
+				return;
+
+			if(cursor >= count)
+				cursor = 0;
+
+			long budgetNanos = Settings.Blocks.Pedestal.tickBudgetMicroseconds * 1000L;
+			long start = System.nanoTime();
+
+			for(int updated = 1; updated <= count; updated++) {
+				TileEntityPedestal pedestal = pedestals.get(cursor);
+				cursor = (cursor + 1) % count;
+
+				if(!pedestal.isInvalid())
+					pedestal.update();
+
+				if(budgetNanos > 0 && updated < count && System.nanoTime() - start > budgetNanos) {
+					deferredUpdates += count - updated;
+					return;
+				}
+			}
+		}
+	}
+
+	public static class ItemTiming {
+		private final String name;
+		private long calls = 0;
+		private long totalNanos = 0;
+		private long maxNanos = 0;
+
+		private ItemTiming(String name) {
+			this.name = name;
+		}
+
+		private void add(long nanos) {
+			calls++;
+			totalNanos += nanos;
+			maxNanos = Math.max(maxNanos, nanos);
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getCalls() {
+			return calls;
+		}
+
+		public long getTotalNanos() {
+			return totalNanos;
+		}
+
+		public long getMaxNanos() {
+			return maxNanos;
+		}
+	}
+}
@@ -0,0 +1,197 @@
+package xreliquary.pedestal.wrappers;
+
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockCrops;
+import net.minecraft.block.BlockNetherWart;
+import net.minecraft.block.IGrowable;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.IPlantable;
+import xreliquary.items.util.HarvestRodAreaCache;
+import xreliquary.util.IBlockChangeListener;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Finds blocks to hoe, plant on, bonemeal and break around a harvest rod pedestal. All four queues get filled
+ * from the shared harvest rod area cache once the sections of the area that aren't cached yet get scanned over
+ * several updates, afterwards the queues are only patched when blocks in the area change.
+ */
+class HarvestRodAreaScanner implements IBlockChangeListener {
+	private final LongLinkedOpenHashSet queueToHoe = new LongLinkedOpenHashSet();
+	private final LongLinkedOpenHashSet queueToPlant = new LongLinkedOpenHashSet();
+	private final LongLinkedOpenHashSet queueToBoneMeal = new LongLinkedOpenHashSet();
+	private final LongLinkedOpenHashSet queueToBreak = new LongLinkedOpenHashSet();
+
+	private final BlockPos.MutableBlockPos abovePos = new BlockPos.MutableBlockPos();
+
+	private BlockPos center = null;
+	private int range;
+	private IPlantable plantable = null;
+	private boolean bothOddOrEven;
+
+	private int minX, minY, minZ, maxX, maxY, maxZ;
+	private boolean scanning = false;
+
+	void update(World world, BlockPos center, int range, @Nullable IPlantable plantable, int sectionScanBudget) {
+		if(!center.equals(this.center) || range != this.range || plantable != this.plantable) {
+			startScan(center, range, plantable);
+		}
+
+		if(scanning && HarvestRodAreaCache.cacheArea(world, center, range, sectionScanBudget)) {
+			fillQueues(world);
+			scanning = false;
+		}
+	}
+
+	boolean isScanning() {
+		return scanning;
+	}
+
+	@Nullable
+	BlockPos getNextBlockToHoe(World world) {
+		return pollValid(world, queueToHoe);
+	}
+
+	@Nullable
+	BlockPos getNextBlockToPlantOn(World world) {
+		return pollValid(world, queueToPlant);
+	}
+
+	@Nullable
+	BlockPos getNextBlockToBoneMeal(World world) {
+		return pollValid(world, queueToBoneMeal);
+	}
+
+	@Nullable
+	BlockPos getNextBlockToBreak(World world) {
+		return pollValid(world, queueToBreak);
+	}
+
+	void recheckBlock(World world, BlockPos pos) {
+		if(isInArea(pos))
+			classify(world, pos, world.getBlockState(pos));
+	}
+
+	@Override
+	public void onBlockChanged(World world, BlockPos pos, IBlockState oldState, IBlockState newState) {
+		if(center == null || pos.getX() < minX || pos.getX() > maxX || pos.getZ() < minZ || pos.getZ() > maxZ || pos.getY() < minY || pos.getY() > maxY + 1)
+			return;
+
+		if(pos.getY() <= maxY)
+			classify(world, pos, newState);
+
+		//hoeing and planting depend on the block above being air
+		BlockPos below = pos.down();
+		if(below.getY() >= minY)
+			classify(world, below, world.getBlockState(below));
+	}
+
+	private void startScan(BlockPos center, int range, @Nullable IPlantable plantable) {
+		this.center = center;
+		this.range = range;
+		this.plantable = plantable;
+		bothOddOrEven = (center.getX() % 2 == 0) == (center.getZ() % 2 == 0);
+
+		minX = center.getX() - range;
+		maxX = center.getX() + range;
+		minY = Math.max(0, center.getY() - range);
+		maxY = Math.min(255, center.getY() + range);
+		minZ = center.getZ() - range;
+		maxZ = center.getZ() + range;
+
+		queueToHoe.clear();
+		queueToPlant.clear();
+		queueToBoneMeal.clear();
+		queueToBreak.clear();
+
+		scanning = true;
+	}
+
+	private void fillQueues(World world) {
+		classifyAll(world, HarvestRodAreaCache.getBlocksToHoe(world, center, range));
+		if(plantable != null)
+			classifyAll(world, HarvestRodAreaCache.getBlocksToPlantOn(world, center, range, plantable));
+		classifyAll(world, HarvestRodAreaCache.getBlocksToBoneMeal(world, center, range));
+		classifyAll(world, HarvestRodAreaCache.getPlants(world, center, range));
+	}
+
+	private void classifyAll(World world, List<BlockPos> positions) {
+		for(BlockPos pos : positions) {
+			classify(world, pos, world.getBlockState(pos));
+		}
+	}
+
+	private boolean isInArea(BlockPos pos) {
+		return center != null && pos.getX() >= minX && pos.getX() <= maxX && pos.getY() >= minY && pos.getY() <= maxY && pos.getZ() >= minZ && pos.getZ() <= maxZ;
+	}
+
+	@Nullable
+	private BlockPos pollValid(World world, LongLinkedOpenHashSet queue) {
+		//queued positions may have gone stale in between if the change notification didn't get to us, so check them again
+		while(!queue.isEmpty()) {
+			BlockPos pos = BlockPos.fromLong(queue.removeFirstLong());
+			classify(world, pos, world.getBlockState(pos));
+			if(queue.remove(pos.toLong()))
+				return pos;
+		}
+		return null;
+	}
+
+	private void classify(World world, BlockPos pos, IBlockState blockState) {
+		long packedPos = pos.toLong();
+		Block block = blockState.getBlock();
+
+		boolean airAbove = false;
+		if(!block.isAir(blockState, world, pos)) {
+			abovePos.setPos(pos.getX(), pos.getY() + 1, pos.getZ());
+			airAbove = world.isAirBlock(abovePos);
+		}
+
+		updateQueue(queueToHoe, packedPos, airAbove && HarvestRodAreaCache.canBeHoed(blockState));
+		updateQueue(queueToPlant, packedPos, airAbove && canBePlantedOn(world, pos, blockState));
+		updateQueue(queueToBoneMeal, packedPos, canBeBoneMealed(world, pos, blockState));
+		updateQueue(queueToBreak, packedPos, canBeBroken(world, pos, blockState));
+	}
+
+	private void updateQueue(LongLinkedOpenHashSet queue, long packedPos, boolean shouldBeQueued) {
+		if(shouldBeQueued)
+			queue.add(packedPos);
+		else
+			queue.remove(packedPos);
+	}
+
+	private boolean canBePlantedOn(World world, BlockPos pos, IBlockState blockState) {
+		if(plantable == null)
+			return false;
+
+		if((plantable == Items.PUMPKIN_SEEDS || plantable == Items.MELON_SEEDS) && bothOddOrEven != ((pos.getX() % 2 == 0) == (pos.getZ() % 2 == 0)))
+			return false;
+
+		return blockState.getBlock().canSustainPlant(blockState, world, pos, EnumFacing.UP, plantable);
+	}
+
+	private boolean canBeBoneMealed(World world, BlockPos pos, IBlockState blockState) {
+		Block block = blockState.getBlock();
+		return block != Blocks.GRASS && block instanceof IGrowable && ((IGrowable) block).canGrow(world, pos, blockState, world.isRemote);
+	}
+
+	private boolean canBeBroken(World world, BlockPos pos, IBlockState blockState) {
+		Block block = blockState.getBlock();
+		if(!HarvestRodAreaCache.isPlant(block))
+			return false;
+		if(block instanceof BlockCrops && ((BlockCrops) block).canGrow(world, pos, blockState, false))
+			return false;
+		//noinspection RedundantIfStatement
+		if(block instanceof BlockNetherWart && blockState.getValue(BlockNetherWart.AGE) < 3)
+			return false;
+
+		return true;
+	}
+}
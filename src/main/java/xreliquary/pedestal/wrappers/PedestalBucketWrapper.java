@@ -20,6 +20,7 @@ import xreliquary.api.IPedestal;
 import xreliquary.api.IPedestalActionItemWrapper;
 import xreliquary.init.ModFluids;
 import xreliquary.reference.Settings;
+import xreliquary.util.EntityQueryCache;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -147,7 +148,7 @@ public class PedestalBucketWrapper implements IPedestalActionItemWrapper {
 	private boolean milkCows(IPedestal pedestal, BlockPos pos, int bucketRange, ItemStack stack) {
 		//find all cow entities in range
 		World world = pedestal.getTheWorld();
-		List<EntityCow> entities = world.getEntitiesWithinAABB(EntityCow.class, new AxisAlignedBB(pos.getX() - bucketRange, pos.getY() - bucketRange, pos.getZ() - bucketRange, pos.getX() + bucketRange, pos.getY() + bucketRange, pos.getZ() + bucketRange));
+		List<EntityCow> entities = EntityQueryCache.getEntitiesWithinAABB(world, EntityCow.class, new AxisAlignedBB(pos.getX() - bucketRange, pos.getY() - bucketRange, pos.getZ() - bucketRange, pos.getX() + bucketRange, pos.getY() + bucketRange, pos.getZ() + bucketRange));
 
 		if(entities.size() == 0) {
 			return false;
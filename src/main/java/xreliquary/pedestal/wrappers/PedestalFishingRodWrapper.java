@@ -1,5 +1,6 @@
 package xreliquary.pedestal.wrappers;
 
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.projectile.EntityFishHook;
 import net.minecraft.init.Blocks;
@@ -21,24 +22,33 @@ import xreliquary.entities.EntityXRFakePlayer;
 import xreliquary.network.PacketHandler;
 import xreliquary.network.PacketPedestalFishHook;
 import xreliquary.reference.Settings;
+import xreliquary.util.BlockChangeNotifier;
+import xreliquary.util.IBlockChangeListener;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
 
-public class PedestalFishingRodWrapper implements IPedestalActionItemWrapper {
+public class PedestalFishingRodWrapper implements IPedestalActionItemWrapper, IBlockChangeListener {
 	private static final int PACKET_RANGE = 50;
 	private static final int RANGE = 4;
 	private static final int NO_WATER_COOLDOWN = 100;
 	private static final int BAD_THROW_TIMEOUT = 60;
 	private static final int ABSOLUTE_TIMEOUT = 1200;
+	private static final int MAX_RAY_TRACED_WATER_BLOCKS = 5;
 	private static Random rand = new Random();
 
 	private EntityXRFakePlayer fakePlayer;
 	private boolean badThrowChecked;
 	private int ticksSinceLastThrow;
 	private boolean retractFail = false;
+	private BlockPos waterSearchCenter;
+	private boolean listeningToBlockChanges = false;
+	private boolean waterSearchDone = false;
+	private BlockPos bestWaterBlock;
 
 	@Override
 	public void update(@Nonnull ItemStack stack, IPedestal pedestal) {
@@ -112,107 +122,119 @@ public class PedestalFishingRodWrapper implements IPedestalActionItemWrapper {
 	}
 
 	private BlockPos getBestWaterBlock(IPedestal pedestal) {
-		List<List<BlockPos>> connectedGroups = new ArrayList<>();
-		List<BlockPos> visitedBlocks = new ArrayList<>();
-
-		BlockPos pos = pedestal.getBlockPos();
-		int pedestalX = pos.getX();
-		int pedestalY = pos.getY();
-		int pedestalZ = pos.getZ();
-
-		for(int y = pedestalY - RANGE; y < pedestalY; y++) {
-			for(int r = 1; r <= RANGE; r++) {
-				int x = pedestalX - r;
-				int z = pedestalZ - r;
-				while(x <= pedestalX + r) {
-					checkForAndAddWaterBlocks(pedestal, visitedBlocks, connectedGroups, pedestalX, pedestalY, pedestalZ, x, y, z);
-					x++;
-				}
-				x--;
+		World world = pedestal.getTheWorld();
+		if(!listeningToBlockChanges) {
+			waterSearchCenter = pedestal.getBlockPos();
+			BlockChangeNotifier.registerListener(world, this);
+			listeningToBlockChanges = true;
+		}
 
-				while(z <= pedestalZ + r) {
-					checkForAndAddWaterBlocks(pedestal, visitedBlocks, connectedGroups, pedestalX, pedestalY, pedestalZ, x, y, z);
-					z++;
-				}
-				z--;
+		//nothing the search depends on can change without a block change around the pedestal
+		if(!waterSearchDone) {
+			bestWaterBlock = findBestWaterBlock(world, pedestal.getBlockPos());
+			waterSearchDone = true;
+		}
+		return bestWaterBlock;
+	}
 
-				while(x >= pedestalX - r) {
-					checkForAndAddWaterBlocks(pedestal, visitedBlocks, connectedGroups, pedestalX, pedestalY, pedestalZ, x, y, z);
-					x--;
-				}
-				x++;
+	@Override
+	public void onBlockChanged(World world, BlockPos pos, IBlockState oldState, IBlockState newState) {
+		if(!waterSearchDone || waterSearchCenter == null)
+			return;
 
-				while(z >= pedestalZ - r) {
-					checkForAndAddWaterBlocks(pedestal, visitedBlocks, connectedGroups, pedestalX, pedestalY, pedestalZ, x, y, z);
-					z--;
-				}
-			}
+		//water blocks and anything between them and the fake player above the pedestal
+		if(Math.abs(pos.getX() - waterSearchCenter.getX()) <= RANGE && Math.abs(pos.getZ() - waterSearchCenter.getZ()) <= RANGE
+				&& pos.getY() >= waterSearchCenter.getY() - RANGE && pos.getY() <= waterSearchCenter.getY() + 2)
+			waterSearchDone = false;
+	}
+
+	private BlockPos findBestWaterBlock(World world, BlockPos pedestalPos) {
+		List<List<BlockPos>> connectedGroups = findWaterGroups(world, pedestalPos);
+
+		//largest groups first and in them the blocks closest to the pedestal first
+		Comparator<BlockPos> closestFirst = Comparator.comparingInt(waterPos -> getSqDistance(waterPos, pedestalPos));
+		for(List<BlockPos> group : connectedGroups) {
+			group.sort(closestFirst);
 		}
+		connectedGroups.sort((a, b) -> a.size() != b.size() ? Integer.compare(b.size(), a.size()) : closestFirst.compare(a.get(0), b.get(0)));
 
-		BlockPos closestBlockInLargestGroup = null;
-		int closestSqDistance = Integer.MAX_VALUE;
-		int mostBlocks = 0;
 		for(List<BlockPos> group : connectedGroups) {
-			if(group.size() > mostBlocks) {
-				mostBlocks = group.size();
-				for(BlockPos waterPos : group) {
-					int xDiff = waterPos.getX() - pedestalX;
-					int yDiff = waterPos.getY() - pedestalY;
-					int zDiff = waterPos.getZ() - pedestalZ;
-
-					int sqDistance = xDiff * xDiff + yDiff * yDiff + zDiff * zDiff;
-
-					if(sqDistance < closestSqDistance) {
-						closestSqDistance = sqDistance;
-						closestBlockInLargestGroup = waterPos;
-					}
-				}
+			for(int i = 0; i < Math.min(group.size(), MAX_RAY_TRACED_WATER_BLOCKS); i++) {
+				if(canSeeWaterBlock(world, group.get(i)))
+					return group.get(i);
 			}
 		}
-
-		return closestBlockInLargestGroup;
+		return null;
 	}
 
-	private void checkForAndAddWaterBlocks(IPedestal pedestal, List<BlockPos> visitedBlocks, List<List<BlockPos>> connectedGroups, double pedestalX, double pedestalY, double pedestalZ, int x, int y, int z) {
-		BlockPos blockPos = new BlockPos(x, y, z);
-		if(!visitedBlocks.contains(blockPos)) {
+	private List<List<BlockPos>> findWaterGroups(World world, BlockPos pedestalPos) {
+		List<List<BlockPos>> connectedGroups = new ArrayList<>();
+		int minX = pedestalPos.getX() - RANGE;
+		int minY = pedestalPos.getY() - RANGE;
+		int minZ = pedestalPos.getZ() - RANGE;
+		int width = RANGE * 2 + 1;
+
+		//positions are packed to their index in the box below the pedestal
+		BitSet visited = new BitSet(width * width * RANGE);
+		IntArrayFIFOQueue queue = new IntArrayFIFOQueue();
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+		for(int start = 0; start < width * width * RANGE; start++) {
+			if(visited.get(start))
+				continue;
+
+			visited.set(start);
+			if(!isWater(world, setPos(pos, start, minX, minY, minZ, width)))
+				continue;
+
 			List<BlockPos> group = new ArrayList<>();
-			checkForWaterAndSearchNeighbors(pedestal, visitedBlocks, pedestalX, pedestalY, pedestalZ, blockPos, group);
-			if(group.size() > 0)
-				connectedGroups.add(group);
-		}
-	}
+			queue.enqueue(start);
+			while(!queue.isEmpty()) {
+				int index = queue.dequeueInt();
+				group.add(setPos(pos, index, minX, minY, minZ, width).toImmutable());
 
-	private void checkForWaterAndSearchNeighbors(IPedestal pedestal, List<BlockPos> visitedBlocks, double pedestalX, double pedestalY, double pedestalZ, BlockPos blockPos, List<BlockPos> group) {
-		visitedBlocks.add(blockPos);
-		IBlockState blockState = pedestal.getTheWorld().getBlockState(blockPos);
-		if(blockState.getBlock() == Blocks.WATER) {
-			int x = blockPos.getX();
-			int y = blockPos.getY();
-			int z = blockPos.getZ();
-
-			double startX = fakePlayer.posX;
-			double startY = fakePlayer.posY;
-			double startZ = fakePlayer.posZ;
-
-			//make sure that the fakePlayer can see the block
-			RayTraceResult raytraceresult = pedestal.getTheWorld().rayTraceBlocks(new Vec3d(startX, startY, startZ), new Vec3d(((double) x) + 0.5D, ((double) y) + 0.99D, ((double) z) + 0.5D), true, false, false);
-			if(raytraceresult != null && raytraceresult.getBlockPos().equals(blockPos)) {
-				group.add(blockPos);
+				int x = index / width % width;
+				int z = index % width;
 				for(EnumFacing facing : EnumFacing.HORIZONTALS) {
-					BlockPos neighborPos = blockPos.offset(facing);
+					int neighborX = x + facing.getFrontOffsetX();
+					int neighborZ = z + facing.getFrontOffsetZ();
 					//no search outside of the range
-					if(neighborPos.getX() <= pedestalX + RANGE && neighborPos.getX() >= pedestalX - RANGE && neighborPos.getY() <= pedestalY + RANGE && neighborPos.getY() >= pedestalY - RANGE)
-						addNeighboringWater(pedestal, visitedBlocks, group, pedestalX, pedestalY, pedestalZ, neighborPos);
+					if(neighborX < 0 || neighborX >= width || neighborZ < 0 || neighborZ >= width)
+						continue;
+
+					int neighbor = index - x * width - z + neighborX * width + neighborZ;
+					if(visited.get(neighbor))
+						continue;
+
+					visited.set(neighbor);
+					if(isWater(world, setPos(pos, neighbor, minX, minY, minZ, width)))
+						queue.enqueue(neighbor);
 				}
 			}
+			connectedGroups.add(group);
 		}
+		return connectedGroups;
 	}
 
-	private void addNeighboringWater(IPedestal pedestal, List<BlockPos> visitedBlocks, List<BlockPos> group, double pedestalX, double pedestalY, double pedestalZ, BlockPos blockPos) {
-		if(!visitedBlocks.contains(blockPos)) {
-			checkForWaterAndSearchNeighbors(pedestal, visitedBlocks, pedestalX, pedestalY, pedestalZ, blockPos, group);
-		}
+	private BlockPos.MutableBlockPos setPos(BlockPos.MutableBlockPos pos, int index, int minX, int minY, int minZ, int width) {
+		return pos.setPos(minX + index / width % width, minY + index / (width * width), minZ + index % width);
+	}
+
+	private boolean isWater(World world, BlockPos pos) {
+		return world.getBlockState(pos).getBlock() == Blocks.WATER;
+	}
+
+	private int getSqDistance(BlockPos pos, BlockPos pedestalPos) {
+		int xDiff = pos.getX() - pedestalPos.getX();
+		int yDiff = pos.getY() - pedestalPos.getY();
+		int zDiff = pos.getZ() - pedestalPos.getZ();
+		return xDiff * xDiff + yDiff * yDiff + zDiff * zDiff;
+	}
+
+	//make sure that the fakePlayer can see the block
+	private boolean canSeeWaterBlock(World world, BlockPos pos) {
+		RayTraceResult raytraceresult = world.rayTraceBlocks(new Vec3d(fakePlayer.posX, fakePlayer.posY, fakePlayer.posZ), new Vec3d(((double) pos.getX()) + 0.5D, ((double) pos.getY()) + 0.99D, ((double) pos.getZ()) + 0.5D), true, false, false);
+		return raytraceresult != null && raytraceresult.getBlockPos().equals(pos);
 	}
 
 	private void spawnFishHook(IPedestal pedestal) {
@@ -238,6 +260,11 @@ public class PedestalFishingRodWrapper implements IPedestalActionItemWrapper {
 		if(fakePlayer != null && fakePlayer.fishEntity != null) {
 			fakePlayer.fishEntity.setDead();
 		}
+
+		if(listeningToBlockChanges) {
+			BlockChangeNotifier.unregisterListener(pedestal.getTheWorld(), this);
+			listeningToBlockChanges = false;
+		}
 	}
 
 	@Override
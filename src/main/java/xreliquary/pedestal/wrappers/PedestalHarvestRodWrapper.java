@@ -1,6 +1,6 @@
 package xreliquary.pedestal.wrappers;
 
-import net.minecraft.block.*;
+import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.entity.item.EntityItem;
@@ -19,15 +19,14 @@ import net.minecraft.world.World;
 import net.minecraftforge.common.IPlantable;
 import xreliquary.api.IPedestal;
 import xreliquary.api.IPedestalActionItemWrapper;
-import xreliquary.blocks.BlockFertileLilypad;
 import xreliquary.init.ModItems;
 import xreliquary.items.ItemHarvestRod;
 import xreliquary.reference.Reference;
 import xreliquary.reference.Settings;
+import xreliquary.util.BlockChangeNotifier;
 
 import javax.annotation.Nonnull;
-import java.util.ArrayDeque;
-import java.util.Queue;
+import javax.annotation.Nullable;
 import java.util.Random;
 
 public class PedestalHarvestRodWrapper implements IPedestalActionItemWrapper {
@@ -40,17 +39,8 @@ public class PedestalHarvestRodWrapper implements IPedestalActionItemWrapper {
 	private int boneMealCoolDown = 0;
 	private int breakCoolDown = 0;
 
-	private Queue<BlockPos> queueToHoe;
-	private Queue<BlockPos> queueToPlant;
-	private Queue<BlockPos> queueToBoneMeal;
-	private Queue<BlockPos> queueToBreak;
-
-	public PedestalHarvestRodWrapper() {
-		queueToHoe = new ArrayDeque<>();
-		queueToPlant = new ArrayDeque<>();
-		queueToBoneMeal = new ArrayDeque<>();
-		queueToBreak = new ArrayDeque<>();
-	}
+	private final HarvestRodAreaScanner scanner = new HarvestRodAreaScanner();
+	private boolean listeningToBlockChanges = false;
 
 	@Override
 	public void update(@Nonnull ItemStack stack, IPedestal pedestal) {
@@ -60,36 +50,48 @@ public class PedestalHarvestRodWrapper implements IPedestalActionItemWrapper {
 		int range = Settings.Items.HarvestRod.pedestalRange;
 		int cooldown = Settings.Items.HarvestRod.pedestalCooldown;
 
-		hoeLand(world, player, pos, range);
+		if(!listeningToBlockChanges) {
+			BlockChangeNotifier.registerListener(world, scanner);
+			listeningToBlockChanges = true;
+		}
+
+		scanner.update(world, pos, range, getCurrentPlantable(stack), Settings.Items.HarvestRod.pedestalScanBudget);
+
+		hoeLand(world, player);
 
-		plantSeeds(world, player, pos, stack, range);
+		plantSeeds(world, player, stack);
 
-		boneMealCrops(world, pos, stack, range);
+		boneMealCrops(world, stack);
 
-		breakCrops(world, pos, stack, range);
+		breakCrops(world, stack);
 
 		pedestal.setActionCoolDown(cooldown);
 	}
 
 	@Override
 	public void onRemoved(@Nonnull ItemStack stack, IPedestal pedestal) {
+		if(listeningToBlockChanges) {
+			BlockChangeNotifier.unregisterListener(pedestal.getTheWorld(), scanner);
+			listeningToBlockChanges = false;
+		}
 	}
 
 	@Override
 	public void stop(@Nonnull ItemStack stack, IPedestal pedestal) {
 	}
 
-	private void breakCrops(World world, BlockPos pos, ItemStack stack, int range) {
+	private void breakCrops(World world, ItemStack stack) {
 		if(breakCoolDown > 0) {
 			breakCoolDown--;
 		} else {
-			BlockPos nextBlockToBreak = getNextBlockToBreak(world, pos, range);
+			BlockPos nextBlockToBreak = scanner.getNextBlockToBreak(world);
 
 			if(nextBlockToBreak != null) {
 				doHarvestBlockBreak(world, stack, nextBlockToBreak);
 				return;
 			}
-			breakCoolDown = NO_JOB_COOL_DOWN_CYCLES;
+			if(!scanner.isScanning())
+				breakCoolDown = NO_JOB_COOL_DOWN_CYCLES;
 		}
 	}
 
@@ -115,20 +117,23 @@ public class PedestalHarvestRodWrapper implements IPedestalActionItemWrapper {
 		world.setBlockState(pos, Blocks.AIR.getDefaultState());
 	}
 
-	private void boneMealCrops(World world, BlockPos pos, ItemStack stack, int range) {
+	private void boneMealCrops(World world, ItemStack stack) {
 
 		if(boneMealCoolDown > 0) {
 			boneMealCoolDown--;
 		} else {
 			if(harvestRod.getBoneMealCount(stack) >= (harvestRod.getBonemealCost())) {
-				BlockPos blockToBoneMeal = getNextBlockToBoneMeal(world, pos, range);
+				BlockPos blockToBoneMeal = scanner.getNextBlockToBoneMeal(world);
 
 				if(blockToBoneMeal != null) {
 					boneMealBlock(stack, world, blockToBoneMeal);
+					//not all growth stages notify about the block change so make sure the block gets back in queue if it can still grow
+					scanner.recheckBlock(world, blockToBoneMeal);
 					return;
 				}
 			}
-			boneMealCoolDown = NO_JOB_COOL_DOWN_CYCLES;
+			if(!scanner.isScanning())
+				boneMealCoolDown = NO_JOB_COOL_DOWN_CYCLES;
 		}
 	}
 
@@ -147,7 +152,7 @@ public class PedestalHarvestRodWrapper implements IPedestalActionItemWrapper {
 			harvestRod.setBoneMealCount(ist, harvestRod.getBoneMealCount(ist) - harvestRod.getBonemealCost());
 	}
 
-	private void plantSeeds(World world, EntityPlayer player, BlockPos pos, ItemStack stack, int range) {
+	private void plantSeeds(World world, EntityPlayer player, ItemStack stack) {
 
 		if(plantCoolDown > 0) {
 			plantCoolDown--;
@@ -158,15 +163,17 @@ public class PedestalHarvestRodWrapper implements IPedestalActionItemWrapper {
 				int quantity = harvestRod.getPlantableQuantity(stack, plantableSlot);
 
 				if(quantity > 0) {
-					BlockPos blockToPlantOn = getNextBlockToPlantOn(world, pos, range, (IPlantable) harvestRod.getPlantableInSlot(stack, plantableSlot).getItem());
+					BlockPos blockToPlantOn = scanner.getNextBlockToPlantOn(world);
 
 					if(blockToPlantOn != null) {
 						plantItem(world, player, blockToPlantOn, stack, plantableSlot);
+						scanner.recheckBlock(world, blockToPlantOn);
 						return;
 					}
 				}
 			}
-			plantCoolDown = NO_JOB_COOL_DOWN_CYCLES;
+			if(!scanner.isScanning())
+				plantCoolDown = NO_JOB_COOL_DOWN_CYCLES;
 		}
 	}
 
@@ -180,133 +187,27 @@ public class PedestalHarvestRodWrapper implements IPedestalActionItemWrapper {
 		}
 	}
 
-	private void hoeLand(World world, EntityPlayer player, BlockPos pos, int range) {
+	private void hoeLand(World world, EntityPlayer player) {
 		if(hoeCoolDown > 0) {
 			hoeCoolDown--;
 		} else {
 			ItemStack fakeHoe = new ItemStack(Items.WOODEN_HOE);
-			BlockPos blockToHoe = getNextBlockToHoe(world, pos, range);
+			BlockPos blockToHoe = scanner.getNextBlockToHoe(world);
 			player.setHeldItem(EnumHand.MAIN_HAND, fakeHoe);
 			if(blockToHoe != null) {
 				Items.WOODEN_HOE.onItemUse(player, world, blockToHoe, EnumHand.MAIN_HAND, EnumFacing.UP, 0, 0, 0);
-			} else {
+				scanner.recheckBlock(world, blockToHoe);
+			} else if(!scanner.isScanning()) {
 				hoeCoolDown = NO_JOB_COOL_DOWN_CYCLES;
 			}
 		}
 	}
 
-	//TODO: change these to capabilities in 1.9 and use Harvest Rod methods
-
-	private BlockPos getNextBlockToBreak(World world, BlockPos pos, int range) {
-		if(queueToBreak.isEmpty()) {
-			fillQueueToBreak(world, pos, range);
-		}
-		return queueToBreak.poll();
-
-	}
-
-	private void fillQueueToBreak(World world, BlockPos pos, int range) {
-		for(int x = pos.getX() - range; x <= pos.getX() + range; x++) {
-			for(int y = pos.getY() - range; y <= pos.getY() + range; y++) {
-				for(int z = pos.getZ() - range; z <= pos.getZ() + range; z++) {
-					BlockPos currentPos = new BlockPos(x, y, z);
-					IBlockState state = world.getBlockState(currentPos);
-					Block block = state.getBlock();
-					if(block instanceof IPlantable || block == Blocks.MELON_BLOCK || block == Blocks.PUMPKIN) {
-						if(block instanceof BlockFertileLilypad || block == Blocks.PUMPKIN_STEM || block == Blocks.MELON_STEM)
-							continue;
-						if(block instanceof BlockCrops && ((BlockCrops) block).canGrow(world, pos, state, false))
-							continue;
-						if(block instanceof BlockNetherWart && state.getValue(BlockNetherWart.AGE) < 3)
-							continue;
-
-						queueToBreak.add(currentPos);
-					}
-				}
-			}
-		}
-	}
-
-	private BlockPos getNextBlockToHoe(World world, BlockPos pos, int range) {
-		if(queueToHoe.isEmpty())
-			fillQueueToHoe(world, pos, range);
-
-		return queueToHoe.poll();
-	}
-
-	private void fillQueueToHoe(World world, BlockPos pos, int range) {
-		queueToHoe.clear();
-		for(int x = pos.getX() - range; x <= pos.getX() + range; x++) {
-			for(int y = pos.getY() - range; y <= pos.getY() + range; y++) {
-				for(int z = pos.getZ() - range; z <= pos.getZ() + range; z++) {
-					BlockPos currentPos = new BlockPos(x, y, z);
-
-					IBlockState blockState = world.getBlockState(currentPos);
-					Block block = blockState.getBlock();
-
-					if(world.isAirBlock(currentPos.up())) {
-						if(block == Blocks.GRASS || (block == Blocks.DIRT && (blockState.getValue(BlockDirt.VARIANT) == BlockDirt.DirtType.DIRT || blockState.getValue(BlockDirt.VARIANT) == BlockDirt.DirtType.COARSE_DIRT))) {
-							queueToHoe.add(currentPos);
-						}
-					}
-				}
-			}
-		}
-	}
-
-	private BlockPos getNextBlockToPlantOn(World world, BlockPos pos, int range, IPlantable plantable) {
-		if(queueToPlant.isEmpty())
-			fillQueueToPlant(world, pos, range, plantable);
-
-		return queueToPlant.poll();
-	}
-
-	private void fillQueueToPlant(World world, BlockPos pos, int range, IPlantable plantable) {
-		queueToPlant.clear();
-
-		boolean checkerboard = false;
-		boolean bothOddOrEven = false;
-
-		if(plantable == Items.PUMPKIN_SEEDS || plantable == Items.MELON_SEEDS) {
-			checkerboard = true;
-			boolean xEven = pos.getX() % 2 == 0;
-			boolean zEven = pos.getZ() % 2 == 0;
-			bothOddOrEven = xEven == zEven;
-		}
-
-		for(int x = pos.getX() - range; x <= pos.getX() + range; x++) {
-			for(int y = pos.getY() - range; y <= pos.getY() + range; y++) {
-				for(int z = pos.getZ() - range; z <= pos.getZ() + range; z++) {
-					BlockPos currentPos = new BlockPos(x, y, z);
-					IBlockState blockState = world.getBlockState(currentPos);
-					if((!checkerboard || (bothOddOrEven == ((currentPos.getX() % 2 == 0) == (currentPos.getZ() % 2 == 0)))) && blockState.getBlock().canSustainPlant(blockState, world, pos, EnumFacing.UP, plantable) && world.isAirBlock(currentPos.up())) {
-						queueToPlant.add(currentPos);
-					}
-				}
-			}
-		}
-	}
-
-	private BlockPos getNextBlockToBoneMeal(World world, BlockPos pos, int range) {
-		if(queueToBoneMeal.isEmpty())
-			fillQueueToBoneMeal(world, pos, range);
-
-		return queueToBoneMeal.poll();
-	}
+	@Nullable
+	private IPlantable getCurrentPlantable(ItemStack stack) {
+		if(harvestRod.getCountPlantable(stack) == 0)
+			return null;
 
-	private void fillQueueToBoneMeal(World world, BlockPos pos, int range) {
-		queueToBoneMeal.clear();
-		for(int x = pos.getX() - range; x <= pos.getX() + range; x++) {
-			for(int y = pos.getY() - range; y <= pos.getY() + range; y++) {
-				for(int z = pos.getZ() - range; z <= pos.getZ() + range; z++) {
-					BlockPos currentPos = new BlockPos(x, y, z);
-					IBlockState blockState = world.getBlockState(currentPos);
-					if(blockState.getBlock() != Blocks.GRASS && blockState.getBlock() instanceof IGrowable && ((IGrowable) blockState.getBlock()).canGrow(world, currentPos, blockState, world.isRemote)) {
-						queueToBoneMeal.add(currentPos);
-					}
-				}
-			}
-		}
+		return (IPlantable) harvestRod.getPlantableInSlot(stack, 1).getItem();
 	}
-
 }
@@ -14,6 +14,7 @@ import net.minecraftforge.common.util.FakePlayer;
 import xreliquary.api.IPedestal;
 import xreliquary.api.IPedestalActionItemWrapper;
 import xreliquary.reference.Settings;
+import xreliquary.util.EntityQueryCache;
 
 import javax.annotation.Nonnull;
 import java.util.List;
@@ -39,7 +40,7 @@ public class PedestalMeleeWeaponWrapper implements IPedestalActionItemWrapper {
 		BlockPos pos = pedestal.getBlockPos();
 		int meleeRange = Settings.Blocks.Pedestal.meleeWrapperRange;
 
-		List<EntityLiving> entities = world.getEntitiesWithinAABB(EntityLiving.class, new AxisAlignedBB(pos.getX() - meleeRange, pos.getY() - meleeRange, pos.getZ() - meleeRange, pos.getX() + meleeRange, pos.getY() + meleeRange, pos.getZ() + meleeRange));
+		List<EntityLiving> entities = EntityQueryCache.getEntitiesWithinAABB(world, EntityLiving.class, new AxisAlignedBB(pos.getX() - meleeRange, pos.getY() - meleeRange, pos.getZ() - meleeRange, pos.getX() + meleeRange, pos.getY() + meleeRange, pos.getZ() + meleeRange));
 
 		if(entities.size() == 0) {
 			pedestal.setActionCoolDown(40);
@@ -12,6 +12,7 @@ import xreliquary.init.ModItems;
 import xreliquary.init.ModPotions;
 import xreliquary.items.ItemRendingGale;
 import xreliquary.reference.Settings;
+import xreliquary.util.EntityQueryCache;
 
 import javax.annotation.Nonnull;
 import java.util.List;
@@ -34,7 +35,7 @@ public class PedestalRendingGaleWrapper implements IPedestalActionItemWrapper {
 				int flightRange = Settings.Items.RendingGale.pedestalFlightRange;
 
 				if(ModItems.rendingGale.getFeatherCount(stack) >= (ItemRendingGale.getChargeCost() * SECONDS_BETWEEN_BUFF_CHECKS)) {
-					List<EntityPlayer> players = world.getEntitiesWithinAABB(EntityPlayer.class, new AxisAlignedBB(pos.getX() - flightRange, pos.getY() - flightRange, pos.getZ() - flightRange, pos.getX() + flightRange, pos.getY() + flightRange, pos.getZ() + flightRange));
+					List<EntityPlayer> players = EntityQueryCache.getEntitiesWithinAABB(world, EntityPlayer.class, new AxisAlignedBB(pos.getX() - flightRange, pos.getY() - flightRange, pos.getZ() - flightRange, pos.getX() + flightRange, pos.getY() + flightRange, pos.getZ() + flightRange));
 
 					if(!players.isEmpty()) {
 						for(EntityPlayer player : players) {
@@ -13,6 +13,7 @@ import net.minecraftforge.common.util.FakePlayer;
 import xreliquary.api.IPedestal;
 import xreliquary.api.IPedestalActionItemWrapper;
 import xreliquary.reference.Settings;
+import xreliquary.util.EntityQueryCache;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayDeque;
@@ -98,7 +99,7 @@ public class PedestalShearsWrapper implements IPedestalActionItemWrapper {
 	}
 
 	private boolean shearAnimals(ItemStack stack, World world, FakePlayer fakePlayer, BlockPos pos, int shearsRange) {
-		List<EntityAnimal> entities = world.getEntitiesWithinAABB(EntityAnimal.class, new AxisAlignedBB(pos.getX() - shearsRange, pos.getY() - shearsRange, pos.getZ() - shearsRange, pos.getX() + shearsRange, pos.getY() + shearsRange, pos.getZ() + shearsRange));
+		List<EntityAnimal> entities = EntityQueryCache.getEntitiesWithinAABB(world, EntityAnimal.class, new AxisAlignedBB(pos.getX() - shearsRange, pos.getY() - shearsRange, pos.getZ() - shearsRange, pos.getX() + shearsRange, pos.getY() + shearsRange, pos.getZ() + shearsRange));
 
 		for(EntityAnimal animal : entities) {
 			if(animal instanceof IShearable && ((IShearable) animal).isShearable(stack, world, animal.getPosition())) {
@@ -0,0 +1,139 @@
+package xreliquary.reference;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.block.Block;
+import net.minecraft.entity.Entity;
+import net.minecraft.init.Blocks;
+import net.minecraft.item.Item;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.client.event.ConfigChangedEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.registry.EntityEntry;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import xreliquary.util.RegistryHelper;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Block, item and entity lists from settings resolved into sets of the registered objects, so that checks against them
+ * don't need registry names of what they check. These get compiled once everything is registered and again whenever
+ * the config gets changed in game.
+ */
+@Mod.EventBusSubscriber(modid = Reference.MOD_ID)
+public class CompiledSettings {
+	private static volatile Set<Block> mundaneBlocks = new ReferenceOpenHashSet<>();
+	private static volatile Set<Item> goldItems = new ReferenceOpenHashSet<>();
+	private static volatile Set<Block> heatSources = new ReferenceOpenHashSet<>();
+	private static volatile Set<Class<? extends Entity>> huntableEntitiesBlacklist = new ReferenceOpenHashSet<>();
+	private static volatile Set<Class<? extends Entity>> rendingGaleEntitiesBlacklist = new ReferenceOpenHashSet<>();
+	private static volatile Set<Class<? extends Entity>> rendingGaleProjectilesBlacklist = new ReferenceOpenHashSet<>();
+	private static volatile Set<Class<? extends Entity>> interdictionTorchEntitiesBlacklist = new ReferenceOpenHashSet<>();
+	private static volatile Set<Class<? extends Entity>> interdictionTorchProjectilesBlacklist = new ReferenceOpenHashSet<>();
+
+	public static void compile() {
+		mundaneBlocks = getBlocks(Settings.Items.DestructionCatalyst.mundaneBlocks);
+		goldItems = getItems(Settings.Items.MidasTouchstone.goldItems);
+		heatSources = getHeatSources();
+		huntableEntitiesBlacklist = getEntityClassesByName(Settings.Items.SeekerShot.huntableEntitiesBlacklist);
+		rendingGaleEntitiesBlacklist = getEntityClasses(Settings.Items.RendingGale.pushableEntitiesBlacklist);
+		rendingGaleProjectilesBlacklist = getEntityClasses(Settings.Items.RendingGale.pushableProjectilesBlacklist);
+		interdictionTorchEntitiesBlacklist = getEntityClasses(Settings.Blocks.InterdictionTorch.pushableEntitiesBlacklist);
+		interdictionTorchProjectilesBlacklist = getEntityClasses(Settings.Blocks.InterdictionTorch.pushableProjectilesBlacklist);
+	}
+
+	@SubscribeEvent
+	public static void onConfigChanged(ConfigChangedEvent.PostConfigChangedEvent event) {
+		if(event.getModID().equals(Reference.MOD_ID))
+			compile();
+	}
+
+	public static boolean isMundaneBlock(Block block) {
+		return mundaneBlocks.contains(block);
+	}
+
+	public static boolean isGoldItem(Item item) {
+		return goldItems.contains(item);
+	}
+
+	public static boolean isCauldronHeatSource(Block block) {
+		return heatSources.contains(block);
+	}
+
+	public static boolean isHuntableEntityBlacklisted(Entity entity) {
+		return huntableEntitiesBlacklist.contains(entity.getClass());
+	}
+
+	public static boolean isRendingGaleEntityBlacklisted(Entity entity) {
+		return rendingGaleEntitiesBlacklist.contains(entity.getClass());
+	}
+
+	public static boolean isRendingGaleProjectileBlacklisted(Entity entity) {
+		return rendingGaleProjectilesBlacklist.contains(entity.getClass());
+	}
+
+	public static boolean isInterdictionTorchEntityBlacklisted(Entity entity) {
+		return interdictionTorchEntitiesBlacklist.contains(entity.getClass());
+	}
+
+	public static boolean isInterdictionTorchProjectileBlacklisted(Entity entity) {
+		return interdictionTorchProjectilesBlacklist.contains(entity.getClass());
+	}
+
+	private static Set<Block> getHeatSources() {
+		Set<Block> blocks = getBlocks(Settings.Blocks.ApothecaryCauldron.heatSources);
+		//defaults that can't be removed.
+		blocks.add(Blocks.LAVA);
+		blocks.add(Blocks.FLOWING_LAVA);
+		blocks.add(Blocks.FIRE);
+/*
+		if(Loader.isModLoaded(Compatibility.MOD_ID.THAUMCRAFT))
+			blocks.add(BlocksTC.nitor); //TODO add back when Thaumcraft is back in
+*/
+		return blocks;
+	}
+
+	private static Set<Block> getBlocks(String[] blockNames) {
+		Set<Block> blocks = new ReferenceOpenHashSet<>();
+		for(String blockName : blockNames) {
+			Block block = RegistryHelper.getBlockFromName(blockName);
+			if(block != null)
+				blocks.add(block);
+		}
+		return blocks;
+	}
+
+	private static Set<Item> getItems(String[] itemNames) {
+		Set<Item> items = new ReferenceOpenHashSet<>();
+		for(String itemName : itemNames) {
+			Item item = RegistryHelper.getItemFromName(itemName);
+			if(item != null)
+				items.add(item);
+		}
+		return items;
+	}
+
+	//entities by their registry names
+	private static Set<Class<? extends Entity>> getEntityClasses(String[] entityNames) {
+		Set<Class<? extends Entity>> entityClasses = new ReferenceOpenHashSet<>();
+		for(String entityName : entityNames) {
+			EntityEntry entry = ForgeRegistries.ENTITIES.getValue(new ResourceLocation(entityName));
+			if(entry != null)
+				entityClasses.add(entry.getEntityClass());
+		}
+		return entityClasses;
+	}
+
+	//entities by the names they were registered with which is what seeker shot blacklist has always used
+	private static Set<Class<? extends Entity>> getEntityClassesByName(String[] entityNames) {
+		Set<String> names = new HashSet<>(Arrays.asList(entityNames));
+		Set<Class<? extends Entity>> entityClasses = new ReferenceOpenHashSet<>();
+		for(EntityEntry entry : ForgeRegistries.ENTITIES.getValuesCollection()) {
+			if(names.contains(entry.getName()))
+				entityClasses.add(entry.getEntityClass());
+		}
+		return entityClasses;
+	}
+}
@@ -323,6 +323,10 @@ public class Settings {
 			@Config.Comment("Ticks in between harvest rod actions when in pedestal")
 			@Config.RangeInt(min = 1, max = 20)
 			public byte pedestalCooldown = 5;
+			@Config.Name("pedestal_scan_budget")
+			@Config.Comment("Maximum number of 16x16x16 block sections harvest rod in pedestal scans per action when looking for blocks to hoe/plant/bonemeal/break. Sections that were scanned already are shared with other harvest rods, bigger pedestal range gets scanned over several actions.")
+			@Config.RangeInt(min = 1, max = 64)
+			public int pedestalScanBudget = 2;
 		}
 
 		@Config.Name("hero_medallion")
@@ -503,6 +507,9 @@ public class Settings {
 			@Config.Name("keep_almost_destroyed_displayed")
 			@Config.Comment("Determines if almost destroyed charms stay displayed in the hud")
 			public boolean keepAlmostDestroyedDisplayed = true;
+			@Config.Name("entity_charm_types")
+			@Config.Comment("Additional entities that mob charms protect from. Entries are mod:entity_registry_name=charm_type where charm type is the number of the charm (0 zombie, 1 skeleton, 2 wither skeleton, 3 creeper, 4 witch, 5 zombie pigman, 6 cave spider, 7 spider, 8 enderman, 9 ghast, 10 slime, 11 magma cube, 12 blaze, 13 guardian)")
+			public String[] entityCharmTypes = new String[0];
 		}
 
 		@Config.Name("phoenix_down")
@@ -842,6 +849,21 @@ public class Settings {
 			@Config.Comment("Delay in seconds before it would start fishing again after retracting the hook.")
 			@Config.RangeInt(min = 1, max = 20)
 			public int fishingWrapperRetractDelay = 2;
+			@Config.Name("tick_spread")
+			@Config.Comment("Number of ticks over which first updates of pedestal items get spread so that pedestals loaded or filled together don't all do their work on the same tick")
+			@Config.RangeInt(min = 1, max = 200)
+			public int tickSpread = 20;
+			@Config.Name("tick_budget_microseconds")
+			@Config.Comment("Time in microseconds that pedestals in one dimension can use per tick, pedestals that don't fit in get deferred to the next tick. 0 means no limit.")
+			@Config.RangeInt(min = 0, max = 50000)
+			public int tickBudgetMicroseconds = 5000;
+			@Config.Name("animation_range")
+			@Config.Comment("Distance in blocks from the player beyond which items on pedestals stop spinning and bobbing. 0 means no limit.")
+			@Config.RangeInt(min = 0, max = 256)
+			public int animationRange = 48;
+			@Config.Name("static_passive_pedestals")
+			@Config.Comment("Whether items on display only pedestals outside of animation range get rendered from a baked model which is much cheaper when there are many of these pedestals in view")
+			public boolean staticPassivePedestals = false;
 		}
 	}
 }
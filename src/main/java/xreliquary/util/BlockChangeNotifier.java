@@ -0,0 +1,118 @@
+package xreliquary.util;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import xreliquary.reference.Reference;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+@Mod.EventBusSubscriber(modid = Reference.MOD_ID)
+public class BlockChangeNotifier {
+	//listeners are held weakly so that whatever owns them (usually pedestal item wrappers) doesn't need to unregister on chunk unload
+	private static final Map<Integer, Set<IBlockChangeListener>> listeners = new HashMap<>();
+
+	public static void registerListener(World world, IBlockChangeListener listener) {
+		listeners.computeIfAbsent(world.provider.getDimension(), d -> Collections.newSetFromMap(new WeakHashMap<>())).add(listener);
+	}
+
+	public static void unregisterListener(World world, IBlockChangeListener listener) {
+		Set<IBlockChangeListener> dimensionListeners = listeners.get(world.provider.getDimension());
+		if(dimensionListeners != null)
+			dimensionListeners.remove(listener);
+	}
+
+	@SubscribeEvent
+	public static void onWorldLoad(WorldEvent.Load event) {
+		World world = event.getWorld();
+		if(!world.isRemote)
+			world.addEventListener(new WorldListener(world.provider.getDimension()));
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		World world = event.getWorld();
+		if(!world.isRemote)
+			listeners.remove(world.provider.getDimension());
+	}
+
+	private static class WorldListener implements IWorldEventListener {
+		private final int dimensionId;
+
+		WorldListener(int dimensionId) {
+			this.dimensionId = dimensionId;
+		}
+
+		@Override
+		public void notifyBlockUpdate(World world, BlockPos pos, IBlockState oldState, IBlockState newState, int flags) {
+			//plain block update notifications (e.g. from tile entities syncing their data) are not changes
+			if(oldState == newState)
+				return;
+
+			Set<IBlockChangeListener> dimensionListeners = listeners.get(dimensionId);
+			if(dimensionListeners == null || dimensionListeners.isEmpty())
+				return;
+
+			for(IBlockChangeListener listener : dimensionListeners) {
+				listener.onBlockChanged(world, pos, oldState, newState);
+			}
+		}
+
+		@Override
+		public void notifyLightSet(BlockPos pos) {
+		}
+
+		@Override
+		public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+		}
+
+		@Override
+		public void playSoundToAllNearExcept(@Nullable EntityPlayer player, SoundEvent sound, SoundCategory category, double x, double y, double z, float volume, float pitch) {
+		}
+
+		@Override
+		public void playRecord(SoundEvent sound, BlockPos pos) {
+		}
+
+		@Override
+		public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+		}
+
+		@Override
+		public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+		}
+
+		@Override
+		public void onEntityAdded(Entity entity) {
+		}
+
+		@Override
+		public void onEntityRemoved(Entity entity) {
+		}
+
+		@Override
+		public void broadcastSound(int soundID, BlockPos pos, int data) {
+		}
+
+		@Override
+		public void playEvent(EntityPlayer player, int type, BlockPos pos, int data) {
+		}
+
+		@Override
+		public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress) {
+		}
+	}
+}
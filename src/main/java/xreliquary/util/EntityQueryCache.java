@@ -0,0 +1,119 @@
+package xreliquary.util;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.EntitySelectors;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import xreliquary.reference.Reference;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entities of a class in a chunk collected once per tick and shared by all the queries that cover the chunk, so that pedestals
+ * and relics working the same area each filter the same lists instead of walking the chunks again.
+ * The lists are collected after entities moved in the tick so they get dropped when the next tick starts. Chunks that entities
+ * get spawned in during the tick are collected again when queried.
+ */
+@Mod.EventBusSubscriber(modid = Reference.MOD_ID)
+public class EntityQueryCache {
+	private static final Int2ObjectMap<Long2ObjectMap<Map<Class<?>, List<Entity>>>> dimensionCaches = new Int2ObjectOpenHashMap<>();
+
+	/**
+	 * Same as World.getEntitiesWithinAABB except that it leaves out entities that are already dead.
+	 * The returned list is a new one so callers are free to change it.
+	 */
+	public static <T extends Entity> List<T> getEntitiesWithinAABB(World world, Class<? extends T> entityClass, AxisAlignedBB aabb) {
+		if(world.isRemote)
+			return world.getEntitiesWithinAABB(entityClass, aabb);
+
+		Long2ObjectMap<Map<Class<?>, List<Entity>>> chunkCaches = dimensionCaches.get(world.provider.getDimension());
+		if(chunkCaches == null) {
+			chunkCaches = new Long2ObjectOpenHashMap<>();
+			dimensionCaches.put(world.provider.getDimension(), chunkCaches);
+		}
+
+		int minChunkX = MathHelper.floor((aabb.minX - World.MAX_ENTITY_RADIUS) / 16.0D);
+		int maxChunkX = MathHelper.ceil((aabb.maxX + World.MAX_ENTITY_RADIUS) / 16.0D);
+		int minChunkZ = MathHelper.floor((aabb.minZ - World.MAX_ENTITY_RADIUS) / 16.0D);
+		int maxChunkZ = MathHelper.ceil((aabb.maxZ + World.MAX_ENTITY_RADIUS) / 16.0D);
+
+		List<T> entities = new ArrayList<>();
+		for(int chunkX = minChunkX; chunkX < maxChunkX; chunkX++) {
+			for(int chunkZ = minChunkZ; chunkZ < maxChunkZ; chunkZ++) {
+				Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+				if(chunk == null)
+					continue;
+
+				for(Entity entity : getChunkEntities(chunkCaches, chunk, entityClass)) {
+					if(!entity.isDead && EntitySelectors.NOT_SPECTATING.apply(entity) && entity.getEntityBoundingBox().intersects(aabb)) {
+						//noinspection unchecked - only entities of the class get collected for it
+						entities.add((T) entity);
+					}
+				}
+			}
+		}
+		return entities;
+	}
+
+	private static List<Entity> getChunkEntities(Long2ObjectMap<Map<Class<?>, List<Entity>>> chunkCaches, Chunk chunk, Class<? extends Entity> entityClass) {
+		long chunkKey = ChunkPos.asLong(chunk.x, chunk.z);
+		Map<Class<?>, List<Entity>> classCaches = chunkCaches.get(chunkKey);
+		if(classCaches == null) {
+			classCaches = new IdentityHashMap<>();
+			chunkCaches.put(chunkKey, classCaches);
+		}
+
+		List<Entity> chunkEntities = classCaches.get(entityClass);
+		if(chunkEntities == null) {
+			chunkEntities = new ArrayList<>();
+			for(ClassInheritanceMultiMap<Entity> section : chunk.getEntityLists()) {
+				for(Entity entity : section.getByClass(entityClass)) {
+					chunkEntities.add(entity);
+				}
+			}
+			classCaches.put(entityClass, chunkEntities);
+		}
+		return chunkEntities;
+	}
+
+	@SubscribeEvent
+	public static void onWorldTick(TickEvent.WorldTickEvent event) {
+		if(event.phase == TickEvent.Phase.START && !event.world.isRemote)
+			dimensionCaches.remove(event.world.provider.getDimension());
+	}
+
+	@SubscribeEvent
+	public static void onEntityJoinWorld(EntityJoinWorldEvent event) {
+		World world = event.getWorld();
+		if(world.isRemote)
+			return;
+
+		Long2ObjectMap<Map<Class<?>, List<Entity>>> chunkCaches = dimensionCaches.get(world.provider.getDimension());
+		if(chunkCaches != null) {
+			Entity entity = event.getEntity();
+			chunkCaches.remove(ChunkPos.asLong(MathHelper.floor(entity.posX / 16.0D), MathHelper.floor(entity.posZ / 16.0D)));
+		}
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		if(!event.getWorld().isRemote)
+			dimensionCaches.remove(event.getWorld().provider.getDimension());
+	}
+}
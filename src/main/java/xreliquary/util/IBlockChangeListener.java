@@ -0,0 +1,9 @@
+package xreliquary.util;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+public interface IBlockChangeListener {
+	void onBlockChanged(World world, BlockPos pos, IBlockState oldState, IBlockState newState);
+}
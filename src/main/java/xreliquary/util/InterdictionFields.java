@@ -0,0 +1,281 @@
+package xreliquary.util;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.IProjectile;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.ChunkDataEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import xreliquary.init.ModBlocks;
+import xreliquary.reference.CompiledSettings;
+import xreliquary.reference.Reference;
+import xreliquary.reference.Settings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Interdiction torches of every dimension indexed by chunk, so that all their fields get applied in one pass over the entities
+ * in the chunks the fields reach instead of every torch querying entities around itself every tick. Every entity in range
+ * gets pushed away from each of the torches around it.
+ * Torch positions get saved with their chunk and come back when the chunk gets loaded.
+ */
+@Mod.EventBusSubscriber(modid = Reference.MOD_ID)
+public class InterdictionFields {
+	private static final String TORCHES_TAG = Reference.MOD_ID + ":interdiction_torches";
+	//the push is way too much to apply every tick without this
+	private static final double REDUCTION_COEFFICIENT = 0.04D;
+	private static final Int2ObjectMap<Long2ObjectMap<LongSet>> dimensionTorches = new Int2ObjectOpenHashMap<>();
+	//chunks can get loaded off the server thread so their torches only get indexed with the next tick or chunk save
+	private static final Queue<LoadedChunkTorches> loadedChunkTorches = new ConcurrentLinkedQueue<>();
+
+	public static void addTorch(World world, BlockPos pos) {
+		if(world.isRemote)
+			return;
+
+		Long2ObjectMap<LongSet> chunkTorches = dimensionTorches.get(world.provider.getDimension());
+		if(chunkTorches == null) {
+			chunkTorches = new Long2ObjectOpenHashMap<>();
+			dimensionTorches.put(world.provider.getDimension(), chunkTorches);
+		}
+
+		long chunkKey = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+		LongSet torches = chunkTorches.get(chunkKey);
+		if(torches == null) {
+			torches = new LongOpenHashSet();
+			chunkTorches.put(chunkKey, torches);
+		}
+		torches.add(pos.toLong());
+	}
+
+	public static void removeTorch(World world, BlockPos pos) {
+		if(world.isRemote)
+			return;
+
+		Long2ObjectMap<LongSet> chunkTorches = dimensionTorches.get(world.provider.getDimension());
+		if(chunkTorches == null)
+			return;
+
+		long chunkKey = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+		LongSet torches = chunkTorches.get(chunkKey);
+		if(torches != null && torches.remove(pos.toLong()) && torches.isEmpty())
+			chunkTorches.remove(chunkKey);
+	}
+
+	public static void clear() {
+		dimensionTorches.clear();
+		loadedChunkTorches.clear();
+	}
+
+	@SubscribeEvent
+	public static void onWorldTick(TickEvent.WorldTickEvent event) {
+		if(event.phase != TickEvent.Phase.END || event.world.isRemote)
+			return;
+
+		indexLoadedChunkTorches();
+
+		Long2ObjectMap<LongSet> chunkTorches = dimensionTorches.get(event.world.provider.getDimension());
+		if(chunkTorches != null && !chunkTorches.isEmpty())
+			pushEntities(event.world, chunkTorches);
+	}
+
+	@SubscribeEvent
+	public static void onChunkDataLoad(ChunkDataEvent.Load event) {
+		if(!event.getData().hasKey(TORCHES_TAG))
+			return;
+
+		Chunk chunk = event.getChunk();
+		loadedChunkTorches.add(new LoadedChunkTorches(chunk.getWorld().provider.getDimension(), ChunkPos.asLong(chunk.x, chunk.z), event.getData().getIntArray(TORCHES_TAG)));
+	}
+
+	@SubscribeEvent
+	public static void onChunkDataSave(ChunkDataEvent.Save event) {
+		indexLoadedChunkTorches();
+
+		Chunk chunk = event.getChunk();
+		Long2ObjectMap<LongSet> chunkTorches = dimensionTorches.get(chunk.getWorld().provider.getDimension());
+		LongSet torches = chunkTorches == null ? null : chunkTorches.get(ChunkPos.asLong(chunk.x, chunk.z));
+		if(torches == null || torches.isEmpty())
+			return;
+
+		int[] coordinates = new int[torches.size() * 3];
+		int i = 0;
+		LongIterator iterator = torches.iterator();
+		while(iterator.hasNext()) {
+			BlockPos pos = BlockPos.fromLong(iterator.nextLong());
+			coordinates[i++] = pos.getX();
+			coordinates[i++] = pos.getY();
+			coordinates[i++] = pos.getZ();
+		}
+		event.getData().setIntArray(TORCHES_TAG, coordinates);
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		if(!event.getWorld().isRemote)
+			dimensionTorches.remove(event.getWorld().provider.getDimension());
+	}
+
+	private static void indexLoadedChunkTorches() {
+		LoadedChunkTorches loaded;
+		while((loaded = loadedChunkTorches.poll()) != null) {
+			Long2ObjectMap<LongSet> chunkTorches = dimensionTorches.get(loaded.dimensionId);
+			if(chunkTorches == null) {
+				chunkTorches = new Long2ObjectOpenHashMap<>();
+				dimensionTorches.put(loaded.dimensionId, chunkTorches);
+			}
+
+			LongSet torches = new LongOpenHashSet();
+			for(int i = 0; i + 2 < loaded.coordinates.length; i += 3) {
+				torches.add(new BlockPos(loaded.coordinates[i], loaded.coordinates[i + 1], loaded.coordinates[i + 2]).toLong());
+			}
+			chunkTorches.put(loaded.chunkKey, torches);
+		}
+	}
+
+	private static void pushEntities(World world, Long2ObjectMap<LongSet> chunkTorches) {
+		int radius = Settings.Blocks.InterdictionTorch.pushRadius;
+		Long2ObjectMap<FieldChunk> fieldChunks = getFieldChunks(world, chunkTorches, radius);
+
+		for(FieldChunk fieldChunk : fieldChunks.values()) {
+			Chunk chunk = world.getChunkProvider().getLoadedChunk(fieldChunk.chunkX, fieldChunk.chunkZ);
+			if(chunk == null)
+				continue;
+
+			ClassInheritanceMultiMap<Entity>[] entityLists = chunk.getEntityLists();
+			int minSection = Math.max(0, (fieldChunk.minY - radius) >> 4);
+			int maxSection = Math.min(entityLists.length - 1, (fieldChunk.maxY + radius) >> 4);
+			for(int section = minSection; section <= maxSection; section++) {
+				for(Entity entity : entityLists[section]) {
+					if(canBePushed(entity))
+						pushEntity(entity, fieldChunk.torches, radius);
+				}
+			}
+		}
+	}
+
+	//torches in loaded chunks grouped by the chunks their fields reach
+	private static Long2ObjectMap<FieldChunk> getFieldChunks(World world, Long2ObjectMap<LongSet> chunkTorches, int radius) {
+		Long2ObjectMap<FieldChunk> fieldChunks = new Long2ObjectOpenHashMap<>();
+
+		ObjectIterator<Long2ObjectMap.Entry<LongSet>> chunkIterator = chunkTorches.long2ObjectEntrySet().iterator();
+		while(chunkIterator.hasNext()) {
+			LongSet torches = chunkIterator.next().getValue();
+			LongIterator iterator = torches.iterator();
+			while(iterator.hasNext()) {
+				BlockPos pos = BlockPos.fromLong(iterator.nextLong());
+				//all the torches in the set are in the same chunk
+				if(!world.isBlockLoaded(pos))
+					break;
+
+				//torches that got removed without breaking them properly
+				if(world.getBlockState(pos).getBlock() != ModBlocks.interdictionTorch) {
+					iterator.remove();
+					continue;
+				}
+
+				for(int chunkX = (pos.getX() - radius) >> 4; chunkX <= (pos.getX() + radius) >> 4; chunkX++) {
+					for(int chunkZ = (pos.getZ() - radius) >> 4; chunkZ <= (pos.getZ() + radius) >> 4; chunkZ++) {
+						long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+						FieldChunk fieldChunk = fieldChunks.get(chunkKey);
+						if(fieldChunk == null) {
+							fieldChunk = new FieldChunk(chunkX, chunkZ);
+							fieldChunks.put(chunkKey, fieldChunk);
+						}
+						fieldChunk.addTorch(pos);
+					}
+				}
+			}
+
+			if(torches.isEmpty())
+				chunkIterator.remove();
+		}
+		return fieldChunks;
+	}
+
+	private static boolean canBePushed(Entity entity) {
+		if(!(entity instanceof EntityLiving || entity instanceof IProjectile) || entity instanceof EntityPlayer)
+			return false;
+
+		return !isBlacklistedLivingEntity(entity) && !(Settings.Blocks.InterdictionTorch.canPushProjectiles && isBlacklistedProjectile(entity));
+	}
+
+	private static boolean isBlacklistedProjectile(Entity entity) {
+		return entity instanceof IProjectile && CompiledSettings.isInterdictionTorchProjectileBlacklisted(entity);
+	}
+
+	private static boolean isBlacklistedLivingEntity(Entity entity) {
+		return entity instanceof EntityLiving && CompiledSettings.isInterdictionTorchEntityBlacklisted(entity);
+	}
+
+	private static void pushEntity(Entity entity, List<BlockPos> torches, int radius) {
+		double radiusSq = (double) radius * radius;
+		for(BlockPos pos : torches) {
+			double xDiff = entity.posX - pos.getX();
+			double yDiff = entity.posY - pos.getY();
+			double zDiff = entity.posZ - pos.getZ();
+			double distanceSq = xDiff * xDiff + yDiff * yDiff + zDiff * zDiff;
+			if(distanceSq >= radiusSq || distanceSq == 0)
+				continue;
+
+			// the multiplier is based on a set rate added to an inverse proportion to the distance.
+			// distance is raised to 1 if it's less than one, or it becomes a crazy multiplier
+			double distance = distanceSq < 1D ? 1D : Math.sqrt(distanceSq);
+			double forceMultiplier = (1D + (1D / distance)) * REDUCTION_COEFFICIENT;
+
+			// the entity gets pushed away from the center of the torch block, y is left at the bottom of the block
+			entity.motionX += (entity.posX - (pos.getX() + 0.5D)) * forceMultiplier;
+			entity.motionY += (entity.posY - pos.getY()) * forceMultiplier;
+			entity.motionZ += (entity.posZ - (pos.getZ() + 0.5D)) * forceMultiplier;
+		}
+	}
+
+	private static class FieldChunk {
+		private final int chunkX;
+		private final int chunkZ;
+		private final List<BlockPos> torches = new ArrayList<>();
+		private int minY = Integer.MAX_VALUE;
+		private int maxY = Integer.MIN_VALUE;
+
+		private FieldChunk(int chunkX, int chunkZ) {
+			this.chunkX = chunkX;
+			this.chunkZ = chunkZ;
+		}
+
+		private void addTorch(BlockPos pos) {
+			torches.add(pos);
+			minY = Math.min(minY, pos.getY());
+			maxY = Math.max(maxY, pos.getY());
+		}
+	}
+
+	private static class LoadedChunkTorches {
+		private final int dimensionId;
+		private final long chunkKey;
+		private final int[] coordinates;
+
+		private LoadedChunkTorches(int dimensionId, long chunkKey, int[] coordinates) {
+			this.dimensionId = dimensionId;
+			this.chunkKey = chunkKey;
+			this.coordinates = coordinates;
+		}
+	}
+}
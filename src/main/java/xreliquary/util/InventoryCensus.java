@@ -0,0 +1,152 @@
+package xreliquary.util;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntLists;
+import net.minecraft.inventory.IInventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * Snapshot of an inventory with its slots grouped by item, meta and NBT, taken in a single pass over the inventory.
+ * Matching follows StackHelper.isItemAndNbtEqual, so stacks without NBT match all stacks of the same item and meta
+ * no matter what NBT those have. The census doesn't follow changes made to the inventory after it was taken.
+ */
+public class InventoryCensus {
+	private final Map<Item, Int2ObjectMap<ItemGroup>> groups = new IdentityHashMap<>();
+	//in the order of the first slot that holds them
+	private final List<Bucket> buckets = new ArrayList<>();
+
+	private InventoryCensus(int size, IntFunction<ItemStack> getStack) {
+		for(int slot = 0; slot < size; slot++) {
+			ItemStack stack = getStack.apply(slot);
+			if(stack.isEmpty())
+				continue;
+
+			Int2ObjectMap<ItemGroup> metaGroups = groups.get(stack.getItem());
+			if(metaGroups == null) {
+				metaGroups = new Int2ObjectOpenHashMap<>();
+				groups.put(stack.getItem(), metaGroups);
+			}
+
+			ItemGroup group = metaGroups.get(stack.getMetadata());
+			if(group == null) {
+				group = new ItemGroup();
+				metaGroups.put(stack.getMetadata(), group);
+			}
+
+			Bucket bucket = group.buckets.get(stack.getTagCompound());
+			if(bucket == null) {
+				bucket = new Bucket(stack, group);
+				group.buckets.put(stack.getTagCompound(), bucket);
+				buckets.add(bucket);
+			}
+
+			bucket.add(slot, stack.getCount());
+			group.add(slot, stack.getCount());
+		}
+	}
+
+	public static InventoryCensus of(IInventory inventory) {
+		return new InventoryCensus(inventory.getSizeInventory(), inventory::getStackInSlot);
+	}
+
+	public static InventoryCensus of(List<ItemStack> stacks) {
+		return new InventoryCensus(stacks.size(), stacks::get);
+	}
+
+	/**
+	 * Returns slots with items matching the stack in ascending order.
+	 */
+	public IntList getSlots(@Nonnull ItemStack stack) {
+		if(stack.isEmpty())
+			return IntLists.EMPTY_LIST;
+
+		ItemGroup group = getGroup(stack);
+		if(group == null)
+			return IntLists.EMPTY_LIST;
+
+		if(stack.getTagCompound() == null)
+			return IntLists.unmodifiable(group.slots);
+
+		Bucket bucket = group.buckets.get(stack.getTagCompound());
+		return bucket == null ? IntLists.EMPTY_LIST : IntLists.unmodifiable(bucket.slots);
+	}
+
+	/**
+	 * Returns slots with the item and meta of the stack in ascending order regardless of their NBT.
+	 */
+	public IntList getItemSlots(@Nonnull ItemStack stack) {
+		ItemGroup group = stack.isEmpty() ? null : getGroup(stack);
+		return group == null ? IntLists.EMPTY_LIST : IntLists.unmodifiable(group.slots);
+	}
+
+	/**
+	 * Returns stack from the first slot of the items with the highest total quantity among those that pass the filter,
+	 * ties go to the items found first. The stack is the one in the inventory so it needs to be copied before it's kept.
+	 */
+	@Nonnull
+	public ItemStack getLargest(Predicate<ItemStack> filter) {
+		ItemStack largest = ItemStack.EMPTY;
+		int largestQuantity = 0;
+		for(Bucket bucket : buckets) {
+			int quantity = bucket.getMatchingQuantity();
+			if(quantity > largestQuantity && filter.test(bucket.firstStack)) {
+				largestQuantity = quantity;
+				largest = bucket.firstStack;
+			}
+		}
+		return largest;
+	}
+
+	private ItemGroup getGroup(ItemStack stack) {
+		Int2ObjectMap<ItemGroup> metaGroups = groups.get(stack.getItem());
+		return metaGroups == null ? null : metaGroups.get(stack.getMetadata());
+	}
+
+	private static class ItemGroup {
+		//HashMap as one of the keys may be null for stacks without NBT
+		private final Map<NBTTagCompound, Bucket> buckets = new HashMap<>();
+		private final IntList slots = new IntArrayList();
+		private int quantity = 0;
+
+		private void add(int slot, int count) {
+			slots.add(slot);
+			quantity += count;
+		}
+	}
+
+	private static class Bucket {
+		private final ItemStack firstStack;
+		private final ItemGroup group;
+		private final IntList slots = new IntArrayList();
+		private int quantity = 0;
+
+		private Bucket(ItemStack firstStack, ItemGroup group) {
+			this.firstStack = firstStack;
+			this.group = group;
+		}
+
+		private void add(int slot, int count) {
+			slots.add(slot);
+			quantity += count;
+		}
+
+		//total count of the items that match a stack from this bucket, stacks without NBT match the whole group
+		private int getMatchingQuantity() {
+			return firstStack.getTagCompound() == null ? group.quantity : quantity;
+		}
+	}
+}
@@ -2,6 +2,7 @@ package xreliquary.util;
 
 import baubles.api.BaublesApi;
 import baubles.api.cap.IBaublesItemHandler;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.InventoryPlayer;
@@ -11,6 +12,7 @@ import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumHand;
+import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.common.Loader;
@@ -60,21 +62,7 @@ public class InventoryHelper {
 		if (self.isEmpty())
 			return ItemStack.EMPTY;
 
-		ItemStack targetItem = ItemStack.EMPTY;
-		int itemQuantity = 0;
-		for(int slot = 0; slot < inventory.getSizeInventory(); slot++) {
-			ItemStack stack = inventory.getStackInSlot(slot);
-			if(StackHelper.isItemAndNbtEqual(self, stack)) {
-				continue;
-			}
-			if(stack.getMaxStackSize() == 1) {
-				continue;
-			}
-			if(getItemQuantity(stack, inventory) > itemQuantity) {
-				itemQuantity = getItemQuantity(stack, inventory);
-				targetItem = stack.copy();
-			}
-		}
+		ItemStack targetItem = InventoryCensus.of(inventory).getLargest(stack -> !StackHelper.isItemAndNbtEqual(self, stack) && stack.getMaxStackSize() != 1).copy();
 		inventory.markDirty();
 		return targetItem;
 	}
@@ -93,6 +81,23 @@ public class InventoryHelper {
 		return itemQuantity;
 	}
 
+	/**
+	 * Returns count of the items matching the stack in player's main inventory.
+	 */
+	public static int getItemQuantity(@Nonnull ItemStack stack, EntityPlayer player) {
+		if (stack.isEmpty())
+			return 0;
+
+		int itemQuantity = 0;
+		IntList slots = PlayerInventoryIndex.get(player).getSlots(stack.getItem());
+		for(int i = 0; i < slots.size(); i++) {
+			ItemStack slotStack = player.inventory.mainInventory.get(slots.getInt(i));
+			if(StackHelper.isItemAndNbtEqual(stack, slotStack))
+				itemQuantity += slotStack.getCount();
+		}
+		return itemQuantity;
+	}
+
 	public static boolean consumeOreDictItem(String oredictName, EntityPlayer player) {
 		for(int slot = 0; slot < player.inventory.mainInventory.size(); slot++) {
 			if(player.inventory.mainInventory.get(slot).isEmpty()) {
@@ -118,7 +123,25 @@ public class InventoryHelper {
 
 
 	public static boolean consumeItem(String itemName, int meta, boolean ignoreMeta, EntityPlayer player) {
-		return consumeItem(is -> is.getItem().getRegistryName().toString().equals(itemName) && (ignoreMeta || is.getMetadata() == meta), player);
+		Item item = Item.REGISTRY.getObject(new ResourceLocation(itemName));
+		if(item == null)
+			return false;
+
+		PlayerInventoryIndex inventoryIndex = PlayerInventoryIndex.get(player);
+		IntList slots = inventoryIndex.getSlots(item);
+		for(int i = 0; i < slots.size(); i++) {
+			int slot = slots.getInt(i);
+			ItemStack slotStack = player.inventory.mainInventory.get(slot);
+			if(!slotStack.isEmpty() && slotStack.getItem() == item && (ignoreMeta || slotStack.getMetadata() == meta)) {
+				slotStack.shrink(1);
+				if (slotStack.getCount() <= 0) {
+					player.inventory.mainInventory.set(slot, ItemStack.EMPTY);
+					inventoryIndex.updateSlot(slot);
+				}
+				return true;
+			}
+		}
+		return false;
 	}
 
 	public static boolean consumeItem(Function<ItemStack, Boolean> itemMatches, EntityPlayer player) {
@@ -160,7 +183,10 @@ public class InventoryHelper {
 		int itemCount = 0;
 
 		List<Map.Entry<Integer, Integer>> slotCounts = new ArrayList<>();
-		for(int slot = 0; slot < player.inventory.mainInventory.size(); slot++) {
+		PlayerInventoryIndex inventoryIndex = PlayerInventoryIndex.get(player);
+		IntList slots = inventoryIndex.getSlots(itemStack.getItem());
+		for(int i = 0; i < slots.size(); i++) {
+			int slot = slots.getInt(i);
 			ItemStack slotStack = player.inventory.mainInventory.get(slot);
 			if(StackHelper.isItemAndNbtEqual(slotStack, itemStack)) {
 				int stackSize = slotStack.getCount();
@@ -191,6 +217,7 @@ public class InventoryHelper {
 					countToFill -= stackSizeToFill;
 				} else {
 					player.inventory.decrStackSize(slot, player.inventory.getStackInSlot(slot).getCount());
+					inventoryIndex.updateSlot(slot);
 				}
 			}
 			return true;
@@ -202,10 +229,10 @@ public class InventoryHelper {
 	public static int tryToRemoveFromInventory(@Nonnull ItemStack contents, IInventory inventory, int maxToRemove) {
 		int numberRemoved = 0;
 
-		for(int slot = 0; slot < inventory.getSizeInventory(); slot++) {
-			if(inventory.getStackInSlot(slot).isEmpty()) {
-				continue;
-			}
+		//slot stacks without NBT match contents with NBT here so all slots with the item need to be checked
+		IntList slots = InventoryCensus.of(inventory).getItemSlots(contents);
+		for(int i = 0; i < slots.size(); i++) {
+			int slot = slots.getInt(i);
 			//storage drawers compatibility loop
 			while(inventory.getStackInSlot(slot).getCount() > 0 && StackHelper.isItemAndNbtEqual(inventory.getStackInSlot(slot), contents) && maxToRemove > numberRemoved) {
 				//noinspection ConstantConditions
@@ -0,0 +1,110 @@
+package xreliquary.util;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntLists;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.NonNullList;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Slots of player's main inventory grouped by item, so that relics which absorb items every tick don't each walk the whole
+ * inventory. The index gets built lazily when a relic asks for it and is shared by all relics for the rest of the tick,
+ * so it's built at most once per tick no matter how many relics the player carries.
+ * Callers that change slots update them in the index, anything else that changes the inventory during the tick only shows up
+ * once the index gets rebuilt, so callers need to check the stacks they get slots for, empty ones included.
+ */
+public class PlayerInventoryIndex {
+	//only kept for server players, client calls get a fresh index as they run on a different thread
+	private static final Map<EntityPlayer, PlayerInventoryIndex> indexes = new WeakHashMap<>();
+
+	private final NonNullList<ItemStack> inventory;
+	//in the order of the first slot that holds them
+	private final Map<Item, IntList> itemSlots = new LinkedHashMap<>();
+	private long builtTime = -1;
+
+	private PlayerInventoryIndex(NonNullList<ItemStack> inventory) {
+		this.inventory = inventory;
+	}
+
+	public static PlayerInventoryIndex get(EntityPlayer player) {
+		if(player.world.isRemote) {
+			PlayerInventoryIndex index = new PlayerInventoryIndex(player.inventory.mainInventory);
+			index.build();
+			return index;
+		}
+
+		PlayerInventoryIndex index = indexes.get(player);
+		if(index == null || index.inventory != player.inventory.mainInventory) {
+			index = new PlayerInventoryIndex(player.inventory.mainInventory);
+			indexes.put(player, index);
+		}
+
+		long time = player.world.getTotalWorldTime();
+		if(index.builtTime != time) {
+			index.build();
+			index.builtTime = time;
+		}
+		return index;
+	}
+
+	public static void clear() {
+		indexes.clear();
+	}
+
+	/**
+	 * Returns slots that held the item when the index was built in ascending order.
+	 */
+	public IntList getSlots(Item item) {
+		IntList slots = itemSlots.get(item);
+		return slots == null ? IntLists.EMPTY_LIST : IntLists.unmodifiable(slots);
+	}
+
+	public Set<Item> getItems() {
+		return itemSlots.keySet();
+	}
+
+	/**
+	 * Moves the slot to the item it holds now, needs to be called by anything that puts a different stack into a slot or empties it.
+	 * Slot lists of items that no longer have any slots are kept so that callers can keep iterating over items.
+	 */
+	public void updateSlot(int slot) {
+		for(IntList slots : itemSlots.values()) {
+			slots.rem(slot);
+		}
+
+		ItemStack stack = inventory.get(slot);
+		if(stack.isEmpty())
+			return;
+
+		IntList slots = getOrCreateSlots(stack.getItem());
+		int i = 0;
+		while(i < slots.size() && slots.getInt(i) < slot)
+			i++;
+		slots.add(i, slot);
+	}
+
+	private void build() {
+		itemSlots.clear();
+		for(int slot = 0; slot < inventory.size(); slot++) {
+			ItemStack stack = inventory.get(slot);
+			if(!stack.isEmpty())
+				getOrCreateSlots(stack.getItem()).add(slot);
+		}
+	}
+
+	private IntList getOrCreateSlots(Item item) {
+		IntList slots = itemSlots.get(item);
+		if(slots == null) {
+			slots = new IntArrayList();
+			itemSlots.put(item, slots);
+		}
+		return slots;
+	}
+}
@@ -0,0 +1,136 @@
+package xreliquary.util;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Walks boxes of blocks chunk by chunk and section by section instead of looking up every position through the world.
+ * Positions passed to visitors and predicates are mutable and only valid during the call, use toImmutable() to keep them.
+ */
+public class RegionHelper {
+	private static final int MIN_Y = 0;
+	private static final int MAX_Y = 255;
+
+	/**
+	 * Visits all blocks in the box defined by the two corners (inclusive).
+	 *
+	 * @param skipEmptySections whether sections with nothing but air get skipped, otherwise their positions are visited with air state
+	 * @return false if the visitor stopped the iteration, true otherwise
+	 */
+	public static boolean forEachBlock(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, boolean skipEmptySections, IBlockVisitor visitor) {
+		minY = Math.max(minY, MIN_Y);
+		maxY = Math.min(maxY, MAX_Y);
+		if(minX > maxX || minY > maxY || minZ > maxZ)
+			return true;
+
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+		IBlockState air = Blocks.AIR.getDefaultState();
+
+		for(int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+			int startX = Math.max(minX, chunkX << 4);
+			int endX = Math.min(maxX, (chunkX << 4) + 15);
+
+			for(int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+				int startZ = Math.max(minZ, chunkZ << 4);
+				int endZ = Math.min(maxZ, (chunkZ << 4) + 15);
+
+				Chunk chunk = world.getChunkFromChunkCoords(chunkX, chunkZ);
+				ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+
+				for(int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+					ExtendedBlockStorage section = sections[sectionY];
+					boolean emptySection = section == Chunk.NULL_BLOCK_STORAGE || section.isEmpty();
+					if(emptySection && skipEmptySections)
+						continue;
+
+					int startY = Math.max(minY, sectionY << 4);
+					int endY = Math.min(maxY, (sectionY << 4) + 15);
+
+					for(int x = startX; x <= endX; x++) {
+						for(int z = startZ; z <= endZ; z++) {
+							for(int y = startY; y <= endY; y++) {
+								pos.setPos(x, y, z);
+								if(!visitor.visit(pos, emptySection ? air : section.get(x & 15, y & 15, z & 15)))
+									return false;
+							}
+						}
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Visits all blocks in the box defined by the two corners (inclusive) column by column, going from the top of every column down.
+	 * Columns are visited in order of x and then z. Use this where the order blocks get visited in matters to the caller.
+	 *
+	 * @return false if the visitor stopped the iteration, true otherwise
+	 */
+	public static boolean forEachBlockTopDown(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, IBlockVisitor visitor) {
+		minY = Math.max(minY, MIN_Y);
+		maxY = Math.min(maxY, MAX_Y);
+		if(minX > maxX || minY > maxY || minZ > maxZ)
+			return true;
+
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+		IBlockState air = Blocks.AIR.getDefaultState();
+
+		for(int x = minX; x <= maxX; x++) {
+			for(int z = minZ; z <= maxZ; z++) {
+				ExtendedBlockStorage[] sections = world.getChunkFromChunkCoords(x >> 4, z >> 4).getBlockStorageArray();
+
+				for(int y = maxY; y >= minY; y--) {
+					ExtendedBlockStorage section = sections[y >> 4];
+					pos.setPos(x, y, z);
+					if(!visitor.visit(pos, section == Chunk.NULL_BLOCK_STORAGE || section.isEmpty() ? air : section.get(x & 15, y & 15, z & 15)))
+						return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	public static boolean forEachBlock(World world, BlockPos center, int range, boolean skipEmptySections, IBlockVisitor visitor) {
+		return forEachBlock(world, center.getX() - range, center.getY() - range, center.getZ() - range,
+				center.getX() + range, center.getY() + range, center.getZ() + range, skipEmptySections, visitor);
+	}
+
+	/**
+	 * Collects positions of all blocks in the box that match the predicate. Empty sections are skipped so this never matches air blocks.
+	 */
+	public static List<BlockPos> findBlocks(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, IBlockPredicate predicate) {
+		List<BlockPos> matchingPositions = new ArrayList<>();
+		forEachBlock(world, minX, minY, minZ, maxX, maxY, maxZ, true, (pos, blockState) -> {
+			if(predicate.test(pos, blockState))
+				matchingPositions.add(pos.toImmutable());
+			return true;
+		});
+		return matchingPositions;
+	}
+
+	public static List<BlockPos> findBlocks(World world, BlockPos center, int range, IBlockPredicate predicate) {
+		return findBlocks(world, center.getX() - range, center.getY() - range, center.getZ() - range,
+				center.getX() + range, center.getY() + range, center.getZ() + range, predicate);
+	}
+
+	@FunctionalInterface
+	public interface IBlockVisitor {
+		/**
+		 * @return true to continue with the next block, false to stop the iteration
+		 */
+		boolean visit(BlockPos.MutableBlockPos pos, IBlockState blockState);
+	}
+
+	@FunctionalInterface
+	public interface IBlockPredicate {
+		boolean test(BlockPos.MutableBlockPos pos, IBlockState blockState);
+	}
+}
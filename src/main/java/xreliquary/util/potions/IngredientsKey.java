@@ -0,0 +1,41 @@
+package xreliquary.util.potions;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Identifies a combination of ingredients by their items and meta regardless of the order they come in.
+ */
+class IngredientsKey {
+	private final long[] ingredientIds;
+	private final int hashCode;
+
+	private IngredientsKey(long[] ingredientIds) {
+		this.ingredientIds = ingredientIds;
+		this.hashCode = Arrays.hashCode(ingredientIds);
+	}
+
+	static IngredientsKey of(Collection<PotionIngredient> ingredients) {
+		long[] ingredientIds = new long[ingredients.size()];
+		int i = 0;
+		for(PotionIngredient ingredient : ingredients) {
+			ItemStack stack = ingredient.item;
+			ingredientIds[i++] = ((long) Item.getIdFromItem(stack.getItem()) << 32) | (stack.getMetadata() & 0xFFFFFFFFL);
+		}
+		Arrays.sort(ingredientIds);
+		return new IngredientsKey(ingredientIds);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return this == o || (o instanceof IngredientsKey && Arrays.equals(ingredientIds, ((IngredientsKey) o).ingredientIds));
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+}
@@ -13,9 +13,16 @@ import xreliquary.util.StackHelper;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class PotionMap {
 	public static List<PotionIngredient> ingredients = new ArrayList<>();
@@ -25,26 +32,22 @@ public class PotionMap {
 
 	public static void initPotionMap() {
 		loadPotionMapFromSettings();
+		XRPotionHelper.indexIngredients(ingredients);
 
 		LogHelper.debug("Starting calculation of potion combinations");
+		long start = System.nanoTime();
 		loadPotionCombinations();
 		loadUniquePotions();
-		LogHelper.debug("Done with potion combinations");
+		LogHelper.debug("Done with potion combinations - {} ingredients, {} combinations, {} unique potions in {} ms", ingredients.size(), potionCombinations.size(), uniquePotions.size(), (System.nanoTime() - start) / 1000000);
 	}
 
 	private static void loadUniquePotions() {
 		uniquePotionEssences.clear();
 		uniquePotions.clear();
 
+		Set<String> uniqueEffects = new HashSet<>();
 		for(PotionEssence essence : potionCombinations) {
-			boolean found = false;
-			for(PotionEssence uniqueEssence : uniquePotionEssences) {
-				if(effectsEqual(essence.getEffects(), uniqueEssence.getEffects())) {
-					found = true;
-					break;
-				}
-			}
-			if(!found) {
+			if(uniqueEffects.add(getEffectsKey(essence.getEffects(), true))) {
 				uniquePotionEssences.add(essence);
 				addUniquePotions(essence);
 			}
@@ -80,22 +83,45 @@ public class PotionMap {
 	private static void loadPotionCombinations() {
 		potionCombinations.clear();
 
-		//multiple effect potions and potions made of 3 ingredients are turned on by config option
-		for(PotionIngredient ingredient1 : ingredients) {
-			for(PotionIngredient ingredient2 : ingredients) {
-				if(ingredient1.item.getItem() != ingredient2.item.getItem() || ingredient1.item.getMetadata() != ingredient2.item.getMetadata()) {
-					PotionEssence twoEssence = new PotionEssence.Builder().setIngredients(ingredient1, ingredient2).setEffects(XRPotionHelper.combineIngredients(ingredient1, ingredient2)).build();
-					if(twoEssence.getEffects().size() > 0 && twoEssence.getEffects().size() <= Settings.Potions.maxEffectCount) {
-						addPotionCombination(twoEssence);
-
-						if(Settings.Potions.threeIngredients) {
-							for(PotionIngredient ingredient3 : ingredients) {
-								if((ingredient3.item.getItem() != ingredient1.item.getItem() || ingredient3.item.getMetadata() != ingredient1.item.getMetadata()) && (ingredient3.item.getItem() != ingredient2.item.getItem() || ingredient3.item.getMetadata() != ingredient2.item.getMetadata())) {
-									PotionEssence threeEssence = new PotionEssence.Builder().setIngredients(ingredient1, ingredient2, ingredient3).setEffects(XRPotionHelper.combineIngredients(ingredient1, ingredient2, ingredient3)).build();
-
-									if(!effectsEqual(twoEssence.getEffects(), threeEssence.getEffects())) {
-										addPotionCombination(threeEssence);
-									}
+		//combinations for each first ingredient get calculated in parallel, then they are added in the same order as if
+		//this ran on one thread so that the result doesn't depend on timing. Batches keep the number of calculated
+		//but not yet added combinations down and let the later ones skip ingredient sets that were already added.
+		CombinationSet combinations = new CombinationSet();
+		int batchSize = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+		for(int batchStart = 0; batchStart < ingredients.size(); batchStart += batchSize) {
+			List<List<PotionEssence>> batchCombinations = IntStream.range(batchStart, Math.min(batchStart + batchSize, ingredients.size())).parallel()
+					.mapToObj(index -> getPotionCombinations(ingredients.get(index), combinations)).collect(Collectors.toList());
+
+			for(List<PotionEssence> essences : batchCombinations) {
+				for(PotionEssence essence : essences) {
+					if(combinations.add(essence))
+						potionCombinations.add(essence);
+				}
+			}
+		}
+	}
+
+	//multiple effect potions and potions made of 3 ingredients are turned on by config option
+	private static List<PotionEssence> getPotionCombinations(PotionIngredient ingredient1, CombinationSet combinations) {
+		List<PotionEssence> essences = new ArrayList<>();
+		for(PotionIngredient ingredient2 : ingredients) {
+			if(ingredient1.item.getItem() != ingredient2.item.getItem() || ingredient1.item.getMetadata() != ingredient2.item.getMetadata()) {
+				PotionEssence twoEssence = new PotionEssence.Builder().setIngredients(ingredient1, ingredient2).setEffects(XRPotionHelper.combineIngredients(ingredient1, ingredient2)).build();
+				if(twoEssence.getEffects().size() > 0 && twoEssence.getEffects().size() <= Settings.Potions.maxEffectCount) {
+					if(!combinations.containsIngredients(twoEssence))
+						essences.add(twoEssence);
+
+					if(Settings.Potions.threeIngredients) {
+						String twoEffectsKey = getEffectsKey(twoEssence.getEffects(), true);
+						for(PotionIngredient ingredient3 : ingredients) {
+							if((ingredient3.item.getItem() != ingredient1.item.getItem() || ingredient3.item.getMetadata() != ingredient1.item.getMetadata()) && (ingredient3.item.getItem() != ingredient2.item.getItem() || ingredient3.item.getMetadata() != ingredient2.item.getMetadata())) {
+								PotionEssence threeEssence = new PotionEssence.Builder().setIngredients(ingredient1, ingredient2, ingredient3).build();
+								if(combinations.containsIngredients(threeEssence))
+									continue;
+
+								threeEssence.setEffects(XRPotionHelper.combineIngredients(ingredient1, ingredient2, ingredient3));
+								if(!twoEffectsKey.equals(getEffectsKey(threeEssence.getEffects(), true))) {
+									essences.add(threeEssence);
 								}
 							}
 						}
@@ -103,60 +129,47 @@ public class PotionMap {
 				}
 			}
 		}
+		return essences;
 	}
 
-	private static void addPotionCombination(PotionEssence newEssence) {
-		for(PotionEssence essence : potionCombinations) {
-			//exactly same ingredients in a different order are not to be added here
-			if(ingredientsEqual(essence.getIngredients(), newEssence.getIngredients())) {
-				return;
-			}
-			//the same effect potion id with different duration is turned on by config option
-			if(effectsEqual(essence.getEffects(), newEssence.getEffects(), Settings.Potions.differentDurations) && !effectsEqual(essence.getEffects(), newEssence.getEffects())) {
-				return;
-			}
+	//effects sorted by name so that the key doesn't depend on their order
+	private static String getEffectsKey(List<PotionEffect> effects, boolean includeDuration) {
+		String[] effectKeys = new String[effects.size()];
+		for(int i = 0; i < effects.size(); i++) {
+			PotionEffect effect = effects.get(i);
+			effectKeys[i] = effect.getEffectName() + "|" + effect.getAmplifier() + (includeDuration ? "|" + effect.getDuration() : "");
 		}
-
-		potionCombinations.add(newEssence);
+		Arrays.sort(effectKeys);
+		return String.join(";", effectKeys);
 	}
 
-	private static boolean ingredientsEqual(List<PotionIngredient> a, List<PotionIngredient> b) {
-		if(a.size() != b.size())
-			return false;
-		for(PotionIngredient ingredientA : a) {
-			boolean found = false;
-			for(PotionIngredient ingredientB : b) {
-				if(ingredientA.item.getItem() == ingredientB.item.getItem() && ingredientA.item.getMetadata() == ingredientB.item.getMetadata()) {
-					found = true;
-					break;
-				}
-			}
-			if(!found)
-				return false;
-		}
-		return true;
-	}
+	private static class CombinationSet {
+		private final Set<IngredientsKey> ingredientSets = new HashSet<>();
+		//effects with durations of the first combination added for the effects without durations
+		private final Map<String, String> effectsByEffectsWithoutDuration = new HashMap<>();
 
-	private static boolean effectsEqual(List<PotionEffect> a, List<PotionEffect> b) {
-		return effectsEqual(a, b, true);
-	}
+		private boolean containsIngredients(PotionEssence essence) {
+			return ingredientSets.contains(IngredientsKey.of(essence.getIngredients()));
+		}
 
-	private static boolean effectsEqual(List<PotionEffect> a, List<PotionEffect> b, boolean compareDuration) {
-		if(a.size() != b.size())
-			return false;
+		//only gets called between batches, while combinations are calculated the set is only read from
+		private boolean add(PotionEssence essence) {
+			//exactly same ingredients in a different order are not to be added here
+			IngredientsKey ingredientsKey = IngredientsKey.of(essence.getIngredients());
+			if(ingredientSets.contains(ingredientsKey))
+				return false;
 
-		for(PotionEffect effectA : a) {
-			boolean found = false;
-			for(PotionEffect effectB : b) {
-				if(effectA.getEffectName().equals(effectB.getEffectName()) && (!compareDuration || effectA.getDuration() == effectB.getDuration()) && (effectA.getAmplifier() == effectB.getAmplifier())) {
-					found = true;
-					break;
-				}
+			//the same effect potion id with different duration is turned on by config option
+			if(!Settings.Potions.differentDurations) {
+				String effectsKey = getEffectsKey(essence.getEffects(), true);
+				String addedEffectsKey = effectsByEffectsWithoutDuration.putIfAbsent(getEffectsKey(essence.getEffects(), false), effectsKey);
+				if(addedEffectsKey != null && !addedEffectsKey.equals(effectsKey))
+					return false;
 			}
-			if(!found)
-				return false;
+
+			ingredientSets.add(ingredientsKey);
+			return true;
 		}
-		return true;
 	}
 
 	private static void loadPotionMapFromSettings() {
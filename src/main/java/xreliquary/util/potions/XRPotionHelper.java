@@ -2,12 +2,15 @@ package xreliquary.util.potions;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minecraft.client.resources.I18n;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.ai.attributes.AttributeModifier;
 import net.minecraft.entity.ai.attributes.IAttribute;
 import net.minecraft.init.MobEffects;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
@@ -23,12 +26,16 @@ import xreliquary.items.ItemPotionEssence;
 
 import javax.annotation.Nonnull;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class XRPotionHelper {
 
 	private static final String EFFECTS_NBT_TAG = "effects";
 	private static int MAX_DURATION = 36000;
 	private static int MAX_AMPLIFIER = 4;
+	private static final Map<Item, Int2ObjectMap<PotionIngredient>> ingredientIndex = new IdentityHashMap<>();
+	//results for combinations of potion map ingredients, mortar and its tooltips combine the same ones over and over
+	private static final Map<IngredientsKey, List<PotionEffect>> combinedEffectsCache = new ConcurrentHashMap<>();
 
 	public static boolean isItemEssence(ItemStack ist) {
 		// essence not quite a thing just yet.
@@ -36,25 +43,36 @@ public class XRPotionHelper {
 	}
 
 	public static boolean isItemIngredient(ItemStack ist) {
-		for(PotionIngredient ingredient : PotionMap.ingredients) {
-			//noinspection ConstantConditions
-			if(ingredient.item.getItem().getRegistryName().equals(ist.getItem().getRegistryName()) && ingredient.item.getMetadata() == ist.getMetadata()) {
-				return true;
-			}
-		}
-		return false;
+		return getIndexedIngredient(ist) != null;
 	}
 
 	public static PotionIngredient getIngredient(ItemStack ist) {
 		if(ist.getItem() instanceof ItemPotionEssence) {
 			return new PotionIngredient(ist, XRPotionHelper.getPotionEffectsFromStack(ist));
 		}
-		for(PotionIngredient ingredient : PotionMap.ingredients) {
-			//noinspection ConstantConditions
-			if(ingredient.item.getItem().getRegistryName().equals(ist.getItem().getRegistryName()) && ingredient.item.getMetadata() == ist.getMetadata())
-				return ingredient;
+		return getIndexedIngredient(ist);
+	}
+
+	private static PotionIngredient getIndexedIngredient(ItemStack ist) {
+		Int2ObjectMap<PotionIngredient> metaIngredients = ingredientIndex.get(ist.getItem());
+		return metaIngredients == null ? null : metaIngredients.get(ist.getMetadata());
+	}
+
+	//called by PotionMap whenever the potion map gets loaded
+	static void indexIngredients(List<PotionIngredient> ingredients) {
+		ingredientIndex.clear();
+		combinedEffectsCache.clear();
+
+		for(PotionIngredient ingredient : ingredients) {
+			Int2ObjectMap<PotionIngredient> metaIngredients = ingredientIndex.get(ingredient.item.getItem());
+			if(metaIngredients == null) {
+				metaIngredients = new Int2ObjectOpenHashMap<>();
+				ingredientIndex.put(ingredient.item.getItem(), metaIngredients);
+			}
+			//first entry for the item wins same as when the potion map was searched through
+			if(!metaIngredients.containsKey(ingredient.item.getMetadata()))
+				metaIngredients.put(ingredient.item.getMetadata(), ingredient);
 		}
-		return null;
 	}
 
 	private static Potion[] nonAugmentableEffects = new Potion[] {MobEffects.BLINDNESS,
@@ -268,12 +286,30 @@ public class XRPotionHelper {
 		return newEffects;
 	}
 
+	//not cached as PotionMap goes through every combination only once
 	static List<PotionEffect> combineIngredients(PotionIngredient... ingredients) {
-		return combineIngredients(Arrays.asList(ingredients));
+		return calculateCombinedEffects(Arrays.asList(ingredients));
 	}
 
-	//this handles the actual combining of two or more ingredients, including other essences.
 	public static List<PotionEffect> combineIngredients(Collection<PotionIngredient> ingredients) {
+		if(!areIndexedIngredients(ingredients))
+			return calculateCombinedEffects(ingredients);
+
+		//copied so that callers can't change the cached effects
+		return new ArrayList<>(combinedEffectsCache.computeIfAbsent(IngredientsKey.of(ingredients), key -> calculateCombinedEffects(ingredients)));
+	}
+
+	//essences and other ingredients that aren't from the potion map can have any effects so only the map ones get cached
+	private static boolean areIndexedIngredients(Collection<PotionIngredient> ingredients) {
+		for(PotionIngredient ingredient : ingredients) {
+			if(ingredient == null || getIndexedIngredient(ingredient.item) != ingredient)
+				return false;
+		}
+		return true;
+	}
+
+	//this handles the actual combining of two or more ingredients, including other essences.
+	private static List<PotionEffect> calculateCombinedEffects(Collection<PotionIngredient> ingredients) {
 
 		//helper list to store what we have, altogether
 		Map<ResourceLocation, List<PotionEffect>> potionEffectCounterList = new HashMap<>();
@@ -0,0 +1,56 @@
+package xreliquary.items.util;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.NonNullList;
+import net.minecraftforge.items.ItemHandlerHelper;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class FilteredItemStackHandlerInsertItemsTest extends FilteredItemStackHandlerTestBase {
+	private static final int INSERT_ROUNDS = 20;
+
+	@Test
+	public void insertItemsIntoManyParentSlotsMatchesSingleInserts() {
+		NonNullList<ItemStack> filterStacks = createFilterStacks();
+		List<ItemStack> stacksToInsert = new ArrayList<>();
+		for(int round = 0; round < INSERT_ROUNDS; round++) {
+			for(ItemStack filterStack : filterStacks) {
+				stacksToInsert.add(ItemHandlerHelper.copyStackWithSize(filterStack, 10));
+			}
+		}
+
+		FilteredItemStackHandler singleInsertHandler = createHandlerWithManyParentSlots(filterStacks);
+		for(int i = 0; i < stacksToInsert.size(); i++) {
+			int parentSlot = i % MANY_PARENT_SLOTS;
+			ItemStack remainder = singleInsertHandler.insertItem(parentSlot * FilteredItemStackHandler.SLOTS_PER_TYPE, stacksToInsert.get(i).copy(), false);
+			Assert.assertTrue(remainder.isEmpty());
+		}
+
+		FilteredItemStackHandler handler = createHandlerWithManyParentSlots(filterStacks);
+		List<ItemStack> remainders = handler.insertItems(stacksToInsert, false);
+
+		Assert.assertTrue(remainders.isEmpty());
+		for(int i = 0; i < MANY_PARENT_SLOTS; i++) {
+			Assert.assertEquals(handler.getTotalAmount(i), INSERT_ROUNDS * 10);
+			Assert.assertEquals(handler.getTotalAmount(i), singleInsertHandler.getTotalAmount(i));
+			Assert.assertEquals(handler.getStackInSlot(i * FilteredItemStackHandler.SLOTS_PER_TYPE + 1).getCount(), 64);
+		}
+	}
+
+	@Test
+	public void insertItemsReturnsRemaindersOverLimit() {
+		NonNullList<ItemStack> filterStacks = createFilterStacks();
+		FilteredItemStackHandler handler = createHandlerWithManyParentSlots(filterStacks);
+		handler.setTotalAmount(MANY_PARENT_SLOTS - 1, 990);
+
+		List<ItemStack> remainders = handler.insertItems(Collections.singletonList(ItemHandlerHelper.copyStackWithSize(filterStacks.get(MANY_PARENT_SLOTS - 1), 64)), true);
+
+		Assert.assertEquals(remainders.size(), 1);
+		Assert.assertEquals(remainders.get(0).getCount(), 54);
+		Assert.assertEquals(handler.getTotalAmount(MANY_PARENT_SLOTS - 1), 990);
+	}
+}
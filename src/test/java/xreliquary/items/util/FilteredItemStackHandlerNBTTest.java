@@ -0,0 +1,111 @@
+package xreliquary.items.util;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.NonNullList;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public class FilteredItemStackHandlerNBTTest extends FilteredItemStackHandlerTestBase {
+	private FilteredItemStackHandler createFilledHandler() {
+		FilteredItemStackHandler handler = createHandlerWithManyParentSlots(createFilterStacks());
+		for(int i = 0; i < MANY_PARENT_SLOTS; i++) {
+			handler.setTotalAmount(i, i * 10);
+		}
+		return handler;
+	}
+
+	private FilteredItemStackHandler createEmptyHandler() {
+		return createHandlerWithManyParentSlots(NonNullList.withSize(MANY_PARENT_SLOTS, ItemStack.EMPTY));
+	}
+
+	//format that handlers were saved in before NBT got versioned
+	private NBTTagCompound serializeLegacyNBT(FilteredItemStackHandler handler) {
+		NBTTagList nbtTagList = new NBTTagList();
+		for(int i = 0; i < handler.getSlots(); i++) {
+			if(!handler.getStackInSlot(i).isEmpty()) {
+				NBTTagCompound itemTag = new NBTTagCompound();
+				itemTag.setInteger("Slot", i);
+				handler.getStackInSlot(i).writeToNBT(itemTag);
+				nbtTagList.appendTag(itemTag);
+			}
+		}
+
+		NBTTagCompound nbt = new NBTTagCompound();
+		nbt.setTag("Items", nbtTagList);
+		nbt.setInteger("Size", handler.getSlots());
+
+		NBTTagList nbtAmountsList = new NBTTagList();
+		for(int i = 0; i < handler.getSlots() / FilteredItemStackHandler.SLOTS_PER_TYPE; i++) {
+			nbtAmountsList.appendTag(new NBTTagInt(handler.getTotalAmount(i)));
+		}
+		nbt.setTag("TotalAmounts", nbtAmountsList);
+
+		return nbt;
+	}
+
+	private int getSerializedSize(NBTTagCompound nbt) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		CompressedStreamTools.write(nbt, new DataOutputStream(outputStream));
+		return outputStream.size();
+	}
+
+	private void assertSameContents(FilteredItemStackHandler actual, FilteredItemStackHandler expected) {
+		Assert.assertEquals(actual.getSlots(), expected.getSlots());
+		for(int slot = 0; slot < expected.getSlots(); slot++) {
+			Assert.assertTrue(ItemStack.areItemStacksEqual(actual.getStackInSlot(slot), expected.getStackInSlot(slot)), "Stacks differ in slot " + slot);
+		}
+		for(int i = 0; i < MANY_PARENT_SLOTS; i++) {
+			Assert.assertEquals(actual.getTotalAmount(i), expected.getTotalAmount(i));
+		}
+	}
+
+	@Test
+	public void compactNBTIsSmallerThanLegacy() throws IOException {
+		FilteredItemStackHandler handler = createFilledHandler();
+
+		int legacySize = getSerializedSize(serializeLegacyNBT(handler));
+		int compactSize = getSerializedSize(handler.serializeNBT());
+
+		Assert.assertTrue(compactSize < legacySize, "Compact NBT has " + compactSize + " bytes, legacy NBT has " + legacySize + " bytes");
+	}
+
+	@Test
+	public void compactNBTRoundTrips() {
+		FilteredItemStackHandler handler = createFilledHandler();
+
+		FilteredItemStackHandler fromCompact = createEmptyHandler();
+		fromCompact.deserializeNBT(handler.serializeNBT());
+
+		assertSameContents(fromCompact, handler);
+	}
+
+	@Test
+	public void canDeserializeLegacyNBT() {
+		FilteredItemStackHandler handler = createFilledHandler();
+
+		FilteredItemStackHandler fromLegacy = createEmptyHandler();
+		fromLegacy.deserializeNBT(serializeLegacyNBT(handler));
+
+		assertSameContents(fromLegacy, handler);
+	}
+
+	@Test
+	public void canDeserializeVersionZeroNBT() {
+		FilteredItemStackHandler handler = createFilledHandler();
+		NBTTagCompound nbt = serializeLegacyNBT(handler);
+		nbt.setInteger("Version", 0);
+
+		FilteredItemStackHandler fromVersionZero = createEmptyHandler();
+		fromVersionZero.deserializeNBT(nbt);
+
+		assertSameContents(fromVersionZero, handler);
+	}
+}
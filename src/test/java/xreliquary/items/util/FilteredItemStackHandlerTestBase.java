@@ -0,0 +1,38 @@
+package xreliquary.items.util;
+
+import net.minecraft.init.Bootstrap;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.NonNullList;
+import org.testng.annotations.BeforeClass;
+
+/**
+ * Fixture shared by the tests of handlers with many parent slots.
+ */
+public abstract class FilteredItemStackHandlerTestBase {
+	static final int MANY_PARENT_SLOTS = 96;
+
+	@BeforeClass
+	public void registerVanilla() {
+		Bootstrap.register();
+	}
+
+	//filter stacks of the same item that differ in metadata
+	NonNullList<ItemStack> createFilterStacks() {
+		NonNullList<ItemStack> filterStacks = NonNullList.create();
+		for(int i = 0; i < MANY_PARENT_SLOTS; i++) {
+			filterStacks.add(new ItemStack(Items.WHEAT_SEEDS, 1, i));
+		}
+		return filterStacks;
+	}
+
+	FilteredItemStackHandler createHandlerWithManyParentSlots(NonNullList<ItemStack> filterStacks) {
+		int[] limits = new int[MANY_PARENT_SLOTS];
+		int[] unitWorth = new int[MANY_PARENT_SLOTS];
+		for(int i = 0; i < MANY_PARENT_SLOTS; i++) {
+			limits[i] = 1000;
+			unitWorth[i] = 1;
+		}
+		return new FilteredItemStackHandler(limits, filterStacks, unitWorth);
+	}
+}
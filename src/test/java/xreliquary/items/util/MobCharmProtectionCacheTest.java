@@ -0,0 +1,62 @@
+package xreliquary.items.util;
+
+import net.minecraft.init.Bootstrap;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.NonNullList;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import xreliquary.init.ModItems;
+import xreliquary.items.ItemMobCharm;
+import xreliquary.reference.Reference;
+
+import java.util.function.LongSupplier;
+
+public class MobCharmProtectionCacheTest {
+	private static final long ZOMBIE_BIT = 1L << Reference.MOB_CHARM.ZOMBIE_META;
+
+	@BeforeClass
+	public void registerItems() {
+		Bootstrap.register();
+		if(ModItems.mobCharm == null)
+			ModItems.mobCharm = new ItemMobCharm();
+	}
+
+	private ItemStack createZombieCharm() {
+		ItemStack charm = new ItemStack(ModItems.mobCharm);
+		NBTTagCompound nbt = new NBTTagCompound();
+		nbt.setByte("type", Reference.MOB_CHARM.ZOMBIE_META);
+		charm.setTagCompound(nbt);
+		return charm;
+	}
+
+	@Test
+	public void playerMaskIsKeptWithinTick() {
+		NonNullList<ItemStack> inventory = NonNullList.withSize(36, ItemStack.EMPTY);
+		inventory.set(0, createZombieCharm());
+		LongSupplier maskComputer = () -> MobCharmProtectionCache.getStacksMask(inventory);
+
+		MobCharmProtectionCache.PlayerMasks masks = new MobCharmProtectionCache.PlayerMasks();
+		Assert.assertEquals(masks.getPlayerMask(10, maskComputer), ZOMBIE_BIT);
+
+		inventory.set(0, ItemStack.EMPTY);
+		Assert.assertEquals(masks.getPlayerMask(10, maskComputer), ZOMBIE_BIT);
+	}
+
+	@Test
+	public void charmShrunkInPlaceStopsProtectingNextTick() {
+		NonNullList<ItemStack> inventory = NonNullList.withSize(36, ItemStack.EMPTY);
+		ItemStack charm = createZombieCharm();
+		inventory.set(5, charm);
+		LongSupplier maskComputer = () -> MobCharmProtectionCache.getStacksMask(inventory);
+
+		MobCharmProtectionCache.PlayerMasks masks = new MobCharmProtectionCache.PlayerMasks();
+		Assert.assertEquals(masks.getPlayerMask(10, maskComputer), ZOMBIE_BIT);
+
+		//dropping the charm or moving it to a chest shrinks the same stack instance to 0 rather than replacing it
+		charm.shrink(1);
+		Assert.assertSame(inventory.get(5), charm);
+		Assert.assertEquals(masks.getPlayerMask(11, maskComputer), 0L);
+	}
+}